@@ -0,0 +1,54 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.AdditionalPay;
+import com.karunavilla.booking_system.model.BookingDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total amount of a booking: nightly rate times nights plus the additional charges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingCalculationBenchmark {
+
+    @Param({"0", "3", "20"})
+    public int additionalCharges;
+
+    private BookingDTO booking;
+
+    @Setup
+    public void setup() {
+        booking = new BookingDTO();
+        booking.setNightlyRate(new BigDecimal("3499.50"));
+        booking.setCheckInDate(LocalDate.of(2030, 3, 1));
+        booking.setCheckOutDate(LocalDate.of(2030, 3, 6));
+
+        List<AdditionalPay> charges = new ArrayList<>();
+        for (int i = 0; i < additionalCharges; i++) {
+            AdditionalPay charge = new AdditionalPay();
+            charge.setCategory(i % 2 == 0 ? "Food" : "Laundry");
+            charge.setAmount(BigDecimal.valueOf(150 + i, 2));
+            charges.add(charge);
+        }
+        booking.setAdditionalCharges(charges);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        return BookingService.calculateTotalAmount(booking);
+    }
+}
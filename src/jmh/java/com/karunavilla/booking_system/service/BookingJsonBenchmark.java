@@ -0,0 +1,52 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing an /allBooking response body of 1k and 100k rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BookingJsonBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<BookingResponseDTO> bookings;
+
+    @Setup
+    public void setup() {
+        Instant firstCheckIn = Instant.parse("2030-01-01T00:00:00Z");
+        bookings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Instant checkIn = firstCheckIn.plus(i % 365, ChronoUnit.DAYS);
+            bookings.add(new BookingResponseDTO((long) i + 1, "Guest " + i, i % 3 == 0 ? "Airbnb" : "Direct",
+                    String.valueOf(101 + i % 20), checkIn, checkIn.plus(2, ChronoUnit.DAYS), "CONFIRMED",
+                    new BigDecimal("4999.00"), "98765" + String.format("%05d", i % 100_000),
+                    new BigDecimal("2000.00")));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBookingList() {
+        return jsonMapper.writeValueAsBytes(bookings);
+    }
+}
@@ -0,0 +1,84 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.Guest;
+import com.karunavilla.booking_system.Entity.Payment;
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.BookingDTO;
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the DTOs returned by /bookings/{id} and /allBooking from a booking's fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingMappingBenchmark {
+
+    private Booking booking;
+
+    @Setup
+    public void setup() {
+        Guest guest = new Guest();
+        guest.setId(7L);
+        guest.setFullName("Asha Verma");
+        guest.setEmail("asha@example.com");
+        guest.setMobileNumber("9876543210");
+
+        Room room = new Room();
+        room.setId(3L);
+        room.setRoomNumber("103");
+
+        booking = new Booking();
+        booking.setId(42L);
+        booking.setGuest(guest);
+        booking.setRoom(room);
+        booking.setCheckInDate(Instant.parse("2030-03-01T00:00:00Z"));
+        booking.setCheckOutDate(Instant.parse("2030-03-06T00:00:00Z"));
+        booking.setBookingSource("Direct");
+        booking.setAmountPerNight(new BigDecimal("3499.50"));
+        booking.setTotalAmount(new BigDecimal("17497.50"));
+        booking.setStatus("CONFIRMED");
+        booking.setPayments(new ArrayList<>());
+
+        Payment advance = new Payment();
+        advance.setType("ADVANCE");
+        advance.setAdvanceAmount(new BigDecimal("5000.00"));
+        advance.setMethodAdvanceAmountPaid("UPI");
+        advance.setBooking(booking);
+        booking.getPayments().add(advance);
+        booking.updatePaymentTotals();
+    }
+
+    // The projection constructor Hibernate calls for /bookings/{id}
+    @Benchmark
+    public BookingDTO toBookingDTO() {
+        Payment advance = booking.getPayments().get(0);
+        return new BookingDTO(booking.getGuest().getFullName(), booking.getGuest().getEmail(),
+                booking.getGuest().getMobileNumber(), booking.getRoom().getRoomNumber(), booking.getCheckInDate(),
+                booking.getCheckOutDate(), booking.getBookingSource(), booking.getInternalNotes(),
+                booking.getAmountPerNight(), booking.getTotalAmount(), advance.getAdvanceAmount(),
+                advance.getMethodAdvanceAmountPaid());
+    }
+
+    // The projection constructor Hibernate calls for every /allBooking row
+    @Benchmark
+    public BookingResponseDTO toBookingResponseDTO() {
+        return new BookingResponseDTO(booking.getId(), booking.getGuest().getFullName(), booking.getBookingSource(),
+                booking.getRoom().getRoomNumber(), booking.getCheckInDate(), booking.getCheckOutDate(),
+                booking.getStatus(), booking.getBalance(), booking.getGuest().getMobileNumber(),
+                booking.getTotalPaid());
+    }
+}
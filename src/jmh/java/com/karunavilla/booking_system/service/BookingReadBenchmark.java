@@ -0,0 +1,161 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.BookingSystemApplication;
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.Payment;
+import com.karunavilla.booking_system.model.BookingDTO;
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /bookings/{id} and /allBooking reads against an in-memory H2 database, through the JPQL
+ * projections the service uses and through loaded entities as before. Run with
+ * ./gradlew jmh -Pjmh.includes=BookingReadBenchmark; the gc profiler reports gc.alloc.rate.norm
+ * (bytes per read) next to the average time, for projection and entity reads side by side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingReadBenchmark {
+
+    @Param({"1000"})
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private long nextId;
+
+    @Setup
+    public void setup() {
+        context = SpringApplication.run(BookingSystemApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:read-benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.flyway.locations=classpath:db/migration/common",
+                "--server.port=0",
+                "--logging.level.root=WARN");
+        bookingService = context.getBean(BookingService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // 20 rooms, one guest and one advance payment per booking
+    private void seed(JdbcTemplate jdbc) {
+        for (int i = 1; i <= 20; i++) {
+            jdbc.update("INSERT INTO rooms (room_number, room_name, type, price_per_night, status) VALUES (?, ?, 'Standard', 2500, 'AVAILABLE')",
+                    String.valueOf(100 + i), "Room " + (100 + i));
+        }
+        long firstRoomId = jdbc.queryForObject("SELECT MIN(id) FROM rooms", Long.class);
+        Instant firstNight = Instant.parse("2030-01-01T00:00:00Z");
+        for (long id = 1; id <= bookings; id++) {
+            Instant checkIn = firstNight.plus(id / 20 * 3, ChronoUnit.DAYS);
+            jdbc.update("INSERT INTO guests (id, full_name, email, mobile_number) VALUES (?, ?, ?, ?)",
+                    id, "Guest " + id, "guest" + id + "@example.com", String.format("98%08d", id));
+            jdbc.update("INSERT INTO bookings (id, guest_id, room_id, check_in_date, check_out_date, booking_source, " +
+                            "amount_per_night, total_amount, status, total_paid, balance) " +
+                            "VALUES (?, ?, ?, ?, ?, 'Direct', 2500, 5000, 'CONFIRMED', 1000, 4000)",
+                    id, id, firstRoomId + id % 20, Timestamp.from(checkIn), Timestamp.from(checkIn.plus(2, ChronoUnit.DAYS)));
+            jdbc.update("INSERT INTO payments (id, booking_id, advance_amount, pending_amount, method_advance_amount_paid, type) " +
+                    "VALUES (?, ?, 1000, 4000, 'UPI', 'ADVANCE')", id, id);
+        }
+    }
+
+    private long nextBookingId() {
+        nextId = nextId % bookings + 1;
+        return nextId;
+    }
+
+    @Benchmark
+    public BookingDTO detailsFromProjection() {
+        return bookingService.getBookingDetailsById(nextBookingId());
+    }
+
+    // The previous read: load Booking, Guest, Room and Payment entities, then copy their fields
+    @Benchmark
+    public BookingDTO detailsFromEntities() {
+        long id = nextBookingId();
+        return readOnlyTransaction.execute(status -> {
+            Booking booking = bookingRepository.findById(id).orElseThrow();
+            BookingDTO dto = new BookingDTO();
+            dto.setFullName(booking.getGuest().getFullName());
+            dto.setEmailId(booking.getGuest().getEmail());
+            dto.setMobileNumber(booking.getGuest().getMobileNumber());
+            dto.setRoomNo(booking.getRoom().getRoomNumber());
+            dto.setCheckInDate(booking.getCheckInDate().atZone(ZoneOffset.UTC).toLocalDate());
+            dto.setCheckOutDate(booking.getCheckOutDate().atZone(ZoneOffset.UTC).toLocalDate());
+            dto.setBookingSource(booking.getBookingSource());
+            dto.setInternalNotes(booking.getInternalNotes());
+            dto.setNightlyRate(booking.getAmountPerNight());
+            dto.setTotalAmount(booking.getTotalAmount());
+            booking.getPayments().stream()
+                    .filter(payment -> "ADVANCE".equals(payment.getType()))
+                    .findFirst()
+                    .ifPresent(payment -> {
+                        dto.setAdvanceAmount(payment.getAdvanceAmount());
+                        dto.setPaymentMethod(payment.getMethodAdvanceAmountPaid());
+                    });
+            return dto;
+        });
+    }
+
+    @Benchmark
+    public List<BookingResponseDTO> listFromProjection() {
+        return bookingService.getAllBookingDetails();
+    }
+
+    // The previous listing: every booking as an entity, payments summed per booking
+    @Benchmark
+    public List<BookingResponseDTO> listFromEntities() {
+        return readOnlyTransaction.execute(status -> {
+            List<Booking> all = bookingRepository.findAll();
+            List<BookingResponseDTO> rows = new ArrayList<>(all.size());
+            for (Booking booking : all) {
+                BigDecimal totalPaid = BigDecimal.ZERO;
+                for (Payment payment : booking.getPayments()) {
+                    if (payment.getAdvanceAmount() != null) {
+                        totalPaid = totalPaid.add(payment.getAdvanceAmount());
+                    }
+                }
+                rows.add(new BookingResponseDTO(booking.getId(), booking.getGuest().getFullName(),
+                        booking.getBookingSource(), booking.getRoom().getRoomNumber(), booking.getCheckInDate(),
+                        booking.getCheckOutDate(), booking.getStatus(), booking.getTotalAmount().subtract(totalPaid),
+                        booking.getGuest().getMobileNumber(), totalPaid));
+            }
+            return rows;
+        });
+    }
+}
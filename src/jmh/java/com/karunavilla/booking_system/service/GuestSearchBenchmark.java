@@ -0,0 +1,66 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.GuestContact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guest autocomplete against the in-memory index: a broad one-letter name prefix (capped at the
+ * candidate limit), a two-word name, and a partial mobile number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GuestSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Ananya", "Arjun", "Diya", "Ishaan", "Kavya", "Meera",
+            "Neha", "Priya", "Rahul", "Rohan", "Sanjay", "Sneha", "Vikram", "John", "Maria", "Sarah", "David"};
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Iyer", "Nair", "Reddy", "Menon", "Patel",
+            "Gupta", "Singh", "Das", "Smith", "Fernandes", "Pillai", "Rao", "Kapoor", "Joshi"};
+
+    @Param({"100000"})
+    public int guests;
+
+    private GuestSearchIndex index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<GuestContact> contacts = new ArrayList<>(guests);
+        for (int i = 0; i < guests; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            contacts.add(new GuestContact((long) i, first + " " + last,
+                    String.valueOf(9_000_000_000L + random.nextInt(999_999_999)),
+                    (first + "." + last + i + "@example.com").toLowerCase()));
+        }
+        index = new GuestSearchIndex();
+        index.rebuild(() -> contacts);
+    }
+
+    @Benchmark
+    public List<GuestContact> singleLetterPrefix() {
+        return index.search("s", GuestSearchService.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<GuestContact> twoWordName() {
+        return index.search("priya nai", GuestSearchService.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<GuestContact> partialMobile() {
+        return index.search("98765", GuestSearchService.DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,77 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.RoomAvailabilityResponse;
+import com.karunavilla.booking_system.model.RoomStay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The room filtering step of getRoomsAvailable against an occupancy index holding a year of bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomFilterBenchmark {
+
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2030, 1, 1);
+
+    @Param({"20", "500"})
+    public int rooms;
+
+    private List<Room> catalog;
+    private RoomOccupancyIndex occupancyIndex;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(rooms);
+        List<RoomStay> stays = new ArrayList<>();
+        long bookingId = 1;
+        for (long roomId = 1; roomId <= rooms; roomId++) {
+            Room room = new Room();
+            room.setId(roomId);
+            room.setRoomNumber(String.valueOf(100 + roomId));
+            room.setType("Standard");
+            room.setPricePerNight(BigDecimal.valueOf(2500));
+            room.setStatus("AVAILABLE");
+            room.setRoomName("Room " + (100 + roomId));
+            catalog.add(room);
+
+            // Back-to-back stays of 1-4 nights with random gaps, roughly 70% occupancy
+            LocalDate night = FIRST_NIGHT;
+            while (night.isBefore(FIRST_NIGHT.plusDays(365))) {
+                LocalDate checkOut = night.plusDays(1 + random.nextInt(4));
+                stays.add(new RoomStay(bookingId++, roomId,
+                        night.atStartOfDay().toInstant(ZoneOffset.UTC), checkOut.atStartOfDay().toInstant(ZoneOffset.UTC)));
+                night = checkOut.plusDays(random.nextInt(3));
+            }
+        }
+        occupancyIndex = new RoomOccupancyIndex();
+        occupancyIndex.rebuild(() -> stays);
+
+        startDate = FIRST_NIGHT.plusDays(180);
+        endDate = startDate.plusDays(3);
+    }
+
+    @Benchmark
+    public List<RoomAvailabilityResponse> filterAvailableRooms() {
+        return BookingService.filterAvailableRooms(catalog, occupancyIndex, startDate, endDate);
+    }
+}
@@ -1,19 +1,25 @@
 package com.karunavilla.booking_system.Entity;
 
+import com.karunavilla.booking_system.service.DataVersionListener;
+import com.karunavilla.booking_system.service.RoomOccupancyListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Data
 @Table(name = "bookings")
-public class Booking {
+@EntityListeners({RoomOccupancyListener.class, DataVersionListener.class})
+public class Booking implements ChangeTracked {
 
        @Id
-       @GeneratedValue(strategy = GenerationType.IDENTITY)
+       @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+       @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
        private Long id;
 
        @ManyToOne
@@ -32,7 +38,41 @@ public class Booking {
        private BigDecimal totalAmount;
        private String status;
 
+       // Sum of advanceAmount over payments, and totalAmount minus that; kept in step by BookingService
+       @Column(nullable = false)
+       private BigDecimal totalPaid = BigDecimal.ZERO;
+
+       @Column(nullable = false)
+       private BigDecimal balance = BigDecimal.ZERO;
+
        @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
        private List<Payment> payments;
 
+       // Lazy: list and availability reads never touch the charges
+       @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
+       private List<BookingCharge> charges = new ArrayList<>();
+
+       @Version
+       private Long version;
+
+       @UpdateTimestamp
+       private Instant updatedAt;
+
+       private Long changeVersion; // drives the /bookings/changes feed; NULL until stamped after commit
+
+       // Recomputes totalPaid and balance from the payments; runs on insert, and BookingService calls it after payment edits
+       @PrePersist
+       public void updatePaymentTotals() {
+              BigDecimal paid = BigDecimal.ZERO;
+              if (payments != null) {
+                     for (Payment payment : payments) {
+                            if (payment.getAdvanceAmount() != null) {
+                                   paid = paid.add(payment.getAdvanceAmount());
+                            }
+                     }
+              }
+              totalPaid = paid;
+              balance = (totalAmount != null ? totalAmount : BigDecimal.ZERO).subtract(paid);
+       }
+
    }
@@ -0,0 +1,41 @@
+package com.karunavilla.booking_system.Entity;
+
+import com.karunavilla.booking_system.service.DataVersionListener;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+// One additional charge on a booking; the booking's totalAmount already includes it
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "booking_charges")
+@EntityListeners(DataVersionListener.class)
+public class BookingCharge {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_charges_seq")
+    @SequenceGenerator(name = "booking_charges_seq", sequenceName = "booking_charges_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking booking;
+
+    private String category;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    public BookingCharge(Booking booking, String category, BigDecimal amount) {
+        this.booking = booking;
+        this.category = category;
+        this.amount = amount;
+    }
+}
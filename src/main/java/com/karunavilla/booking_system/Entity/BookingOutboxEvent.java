@@ -0,0 +1,40 @@
+package com.karunavilla.booking_system.Entity;
+
+import com.karunavilla.booking_system.model.BookingEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+// A booking event waiting to be delivered by BookingOutboxDispatcher
+@Entity
+@Data
+@Table(name = "booking_outbox")
+public class BookingOutboxEvent {
+
+    public static final String PENDING = "PENDING";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_outbox_seq")
+    @SequenceGenerator(name = "booking_outbox_seq", sequenceName = "booking_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private BookingEventType eventType;
+
+    private Long bookingId;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload; // BookingEvent as JSON
+
+    private String status;
+
+    private int attempts;
+
+    private Instant createdAt;
+
+    private Instant nextAttemptAt;
+
+    private String lastError;
+}
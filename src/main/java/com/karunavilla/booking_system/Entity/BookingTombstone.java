@@ -0,0 +1,24 @@
+package com.karunavilla.booking_system.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Marks a deleted booking so the change feed can report it
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_tombstones")
+public class BookingTombstone {
+
+    @Id
+    private Long bookingId;
+
+    private Instant deletedAt;
+
+    private Long changeVersion; // NULL until stamped after the deleting commit
+}
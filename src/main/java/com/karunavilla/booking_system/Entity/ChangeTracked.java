@@ -0,0 +1,7 @@
+package com.karunavilla.booking_system.Entity;
+
+// Rows the /bookings/changes feed follows: each write clears changeVersion, and DataVersion stamps it after the commit
+public interface ChangeTracked {
+
+    void setChangeVersion(Long changeVersion);
+}
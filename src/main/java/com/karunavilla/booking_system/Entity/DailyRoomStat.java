@@ -0,0 +1,48 @@
+package com.karunavilla.booking_system.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+// Rollup of the room-nights sold on one day through one booking source
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "daily_room_stats")
+@IdClass(DailyRoomStat.Key.class)
+public class DailyRoomStat {
+
+    @Id
+    private LocalDate statDate;
+
+    @Id
+    private String bookingSource;
+
+    private int roomsSold;
+
+    private BigDecimal roomRevenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable, Comparable<Key> {
+
+        private static final Comparator<Key> ORDER =
+                Comparator.comparing(Key::getStatDate).thenComparing(Key::getBookingSource);
+
+        private LocalDate statDate;
+        private String bookingSource;
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
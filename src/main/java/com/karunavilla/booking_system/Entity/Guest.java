@@ -1,16 +1,69 @@
 package com.karunavilla.booking_system.Entity;
 
+import com.karunavilla.booking_system.service.DataVersionListener;
+import com.karunavilla.booking_system.service.GuestSearchListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.Locale;
 
 @Entity
 @Table(name = "guests")
+@EntityListeners({GuestSearchListener.class, DataVersionListener.class})
 @Data
-public class Guest {
+public class Guest implements ChangeTracked {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guests_seq")
+    @SequenceGenerator(name = "guests_seq", sequenceName = "guests_seq", allocationSize = 50)
     private Long id;
     private String fullName;
     private String email;
     private String mobileNumber;
+
+    // Match keys for repeat guests, derived from the fields above on every write
+    private String normalizedMobile;
+    private String normalizedEmail;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    private Long changeVersion;
+
+    // Numbers without a country code are taken as Indian ones
+    private static final String DEFAULT_COUNTRY_CODE = "91";
+
+    @PrePersist
+    @PreUpdate
+    public void normalizeContact() {
+        normalizedMobile = normalizeMobile(mobileNumber);
+        normalizedEmail = normalizeEmail(email);
+    }
+
+    // Digits only, with the country code: "+91 98765-43210", "098765 43210" and "9876543210" all match
+    public static String normalizeMobile(String mobileNumber) {
+        if (mobileNumber == null) {
+            return null;
+        }
+        String digits = mobileNumber.replaceAll("[^0-9]", "");
+        if (digits.startsWith("00")) {
+            digits = digits.substring(2);
+        } else if (digits.length() == 11 && digits.startsWith("0")) {
+            digits = DEFAULT_COUNTRY_CODE + digits.substring(1);
+        } else if (digits.length() == 10) {
+            digits = DEFAULT_COUNTRY_CODE + digits;
+        }
+        return digits.isEmpty() ? null : digits;
+    }
+
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.karunavilla.booking_system.Entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+// A request seen with an Idempotency-Key: PENDING while it runs, then COMPLETED with its response
+@Entity
+@Data
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public static final String PENDING = "PENDING";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    private String idempotencyKey;
+
+    private String requestHash;
+
+    private String status;
+
+    private Integer responseStatus;
+
+    private String contentType;
+
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    private Instant createdAt;
+}
@@ -1,9 +1,9 @@
 package com.karunavilla.booking_system.Entity;
 
+import com.karunavilla.booking_system.service.DataVersionListener;
 import jakarta.persistence.*;
 import lombok.Data;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -11,10 +11,12 @@ import java.time.Instant;
 @Entity
 @Data
 @Table(name = "payments")
-public class Payment {
+@EntityListeners(DataVersionListener.class)
+public class Payment implements ChangeTracked {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -28,6 +30,11 @@ public class Payment {
     private String type; // "Advance" or "Settlement"
     private Instant paymentDate;
 
-    @Column(name = "additional_amount" ,columnDefinition = "LONGTEXT")
-    private String additionalAmountJson;
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    private Long changeVersion;
 }
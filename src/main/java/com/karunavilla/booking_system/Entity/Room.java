@@ -1,5 +1,7 @@
 package com.karunavilla.booking_system.Entity;
 
+import com.karunavilla.booking_system.service.DataVersionListener;
+import com.karunavilla.booking_system.service.RoomCatalogListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -8,6 +10,7 @@ import java.math.BigDecimal;
 @Entity
 @Data
 @Table(name = "rooms")
+@EntityListeners({RoomCatalogListener.class, DataVersionListener.class})
 public class Room {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
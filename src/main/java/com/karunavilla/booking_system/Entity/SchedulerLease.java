@@ -0,0 +1,22 @@
+package com.karunavilla.booking_system.Entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.Instant;
+
+// Which instance runs a singleton job, and until when
+@Entity
+@Data
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    private Instant lockedUntil;
+}
@@ -0,0 +1,36 @@
+package com.karunavilla.booking_system.config;
+
+import com.karunavilla.booking_system.service.BookingEventSender;
+import com.karunavilla.booking_system.service.LoggingBookingEventSender;
+import com.karunavilla.booking_system.service.WebhookBookingEventSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Picks where booking events go: the webhook when booking.events.webhook-url is set, otherwise the
+ * logging sender. Declaring another BookingEventSender bean replaces both.
+ */
+@Configuration
+public class BookingEventSenderConfig {
+
+    @Bean
+    @ConditionalOnProperty("booking.events.webhook-url")
+    public BookingEventSender webhookBookingEventSender(@Value("${booking.events.webhook-url}") URI url,
+                                                        @Value("${booking.events.webhook-timeout:PT10S}") Duration timeout,
+                                                        JsonMapper jsonMapper) {
+        return new WebhookBookingEventSender(url, timeout, jsonMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(BookingEventSender.class)
+    public BookingEventSender loggingBookingEventSender() {
+        return new LoggingBookingEventSender();
+    }
+}
@@ -0,0 +1,70 @@
+package com.karunavilla.booking_system.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times the first request after startup and the first after an idle spell, as the
+ * {@code booking.requests.cold} timer tagged with what preceded it. These are the requests that
+ * pay for cold connections and caches, and they are too few to show in the http.server.requests
+ * percentiles. Each one is also logged.
+ */
+public class ColdRequestInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColdRequestInterceptor.class);
+
+    private static final String STARTED_AT = ColdRequestInterceptor.class.getName() + ".startedAt";
+    private static final String AFTER = ColdRequestInterceptor.class.getName() + ".after";
+
+    private final MeterRegistry meterRegistry;
+    private final long idleNanos;
+    // 0 until the first request
+    private final AtomicLong lastRequestAt = new AtomicLong();
+
+    public ColdRequestInterceptor(MeterRegistry meterRegistry, Duration idleAfter) {
+        this.meterRegistry = meterRegistry;
+        this.idleNanos = idleAfter.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.nanoTime();
+        long previous = lastRequestAt.getAndSet(now);
+        // Of several requests arriving together only the one that saw the old timestamp counts
+        if (previous == 0 || now - previous > idleNanos) {
+            request.setAttribute(STARTED_AT, now);
+            request.setAttribute(AFTER, previous == 0 ? "startup" : "idle");
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(STARTED_AT) instanceof Long startedAt)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String after = (String) request.getAttribute(AFTER);
+        Timer.builder("booking.requests.cold")
+                .description("First request after startup or an idle spell")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("after", after)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("First request after {}: {} {} took {} ms", after, request.getMethod(), uri,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+}
@@ -0,0 +1,93 @@
+package com.karunavilla.booking_system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Primary/replica datasource pair, active only when booking.datasource.replica.url is set.
+ * Without it the single auto-configured datasource is used as before.
+ *
+ * Both pools are bound from spring.datasource.hikari like the auto-configured one, so pool sizes,
+ * timeouts and the profile overrides apply to them too; only the connection target, the pool name
+ * and read-only differ. booking.datasource.replica.maximum-pool-size can size the replica apart.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+
+    @Value("${spring.datasource.username:}")
+    private String primaryUsername;
+
+    @Value("${spring.datasource.password:}")
+    private String primaryPassword;
+
+    @Value("${booking.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${booking.datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${booking.datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${booking.datasource.replica.maximum-pool-size:#{null}}")
+    private Integer replicaPoolSize;
+
+    // Not default candidates: only the routing datasource below is injected by type
+    @Bean(defaultCandidate = false)
+    public HikariDataSource primaryDataSource() {
+        return pool("primary", primaryUrl, primaryUsername, primaryPassword, false);
+    }
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = pool("replica", replicaUrl, replicaUsername, replicaPassword, true);
+        if (replicaPoolSize != null) {
+            replica.setMaximumPoolSize(replicaPoolSize);
+        }
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesGuard readYourWritesGuard) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(readYourWritesGuard);
+        routing.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, primary, ReplicaRoutingDataSource.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        // Defers the pool choice to the first statement, after the transaction is marked read-only
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private HikariDataSource pool(String name, String url, String username, String password, boolean readOnly) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName("booking-" + name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setReadOnly(readOnly);
+        return pool;
+    }
+}
@@ -0,0 +1,49 @@
+package com.karunavilla.booking_system.config;
+
+import com.karunavilla.booking_system.service.RoomCatalogCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Application metrics on top of what Actuator records by default (http.server.requests,
+ * spring.data.repository.invocations and the @Timed service methods). Scraped from
+ * /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${booking.metrics.sql-statement-warn-threshold:25}")
+    private int sqlStatementWarnThreshold;
+
+    @Value("${booking.metrics.cold-request-idle:PT10M}")
+    private Duration coldRequestIdle;
+
+    @Autowired
+    public void bindRoomCatalogCache(RoomCatalogCache roomCatalogCache) {
+        FunctionCounter.builder("booking.room_cache.hits", roomCatalogCache, cache -> cache.getStats().getHits())
+                .register(meterRegistry);
+        FunctionCounter.builder("booking.room_cache.misses", roomCatalogCache, cache -> cache.getStats().getMisses())
+                .register(meterRegistry);
+        FunctionCounter.builder("booking.room_cache.evictions", roomCatalogCache, cache -> cache.getStats().getEvictions())
+                .register(meterRegistry);
+        Gauge.builder("booking.room_cache.size", roomCatalogCache, cache -> cache.getStats().getSize())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, sqlStatementWarnThreshold));
+        registry.addInterceptor(new ColdRequestInterceptor(meterRegistry, coldRequestIdle));
+    }
+}
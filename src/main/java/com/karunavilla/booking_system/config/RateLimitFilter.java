@@ -0,0 +1,69 @@
+package com.karunavilla.booking_system.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in the security filter chain. Sits after HTTP Basic authentication so signed-in
+ * API users get their own buckets; everyone else is keyed by remote address. With
+ * server.forward-headers-strategy set to framework that is the address the load balancer put in
+ * X-Forwarded-For; the load balancer is the only proxy trusted to set it, and must overwrite
+ * whatever the client sent, or clients could choose their own bucket. GET and HEAD count against
+ * the read budget, other methods against the write budget; CORS preflights and /actuator are free.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.EndpointClass endpointClass = classify(request);
+        if (!rateLimiter.isEnabled() || endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = rateLimiter.tryAcquire(endpointClass, clientKey(request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests, retry in " + retryAfterSeconds + "s");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static RateLimiter.EndpointClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method) || request.getRequestURI().startsWith(request.getContextPath() + "/actuator")) {
+            return null;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? RateLimiter.EndpointClass.READ : RateLimiter.EndpointClass.WRITE;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,98 @@
+package com.karunavilla.booking_system.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets, one budget for reads and one for writes, so a client scraping the
+ * read endpoints cannot use up what front-desk writes need.
+ *
+ * Each bucket is a single AtomicLong holding the time at which it will be full again (the GCRA
+ * form of a token bucket): admitting a request moves that time forward by one refill interval,
+ * and a request is refused when doing so would go further ahead than the burst capacity allows.
+ * Updates are a compare-and-set loop, so concurrent requests never block each other. Buckets that
+ * have refilled completely carry no state and are dropped by the periodic sweep.
+ */
+@Component
+public class RateLimiter {
+
+    public enum EndpointClass {
+        READ,
+        WRITE
+    }
+
+    private final boolean enabled;
+    private final Map<EndpointClass, Budget> budgets = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(MeterRegistry meterRegistry,
+                       @Value("${booking.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${booking.rate-limit.read.capacity:60}") int readCapacity,
+                       @Value("${booking.rate-limit.read.per-second:10}") double readPerSecond,
+                       @Value("${booking.rate-limit.write.capacity:20}") int writeCapacity,
+                       @Value("${booking.rate-limit.write.per-second:5}") double writePerSecond) {
+        this.enabled = enabled;
+        budgets.put(EndpointClass.READ, new Budget(readCapacity, readPerSecond));
+        budgets.put(EndpointClass.WRITE, new Budget(writeCapacity, writePerSecond));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejected.put(endpointClass, Counter.builder("booking.rate_limit.rejected")
+                    .description("Requests refused with 429")
+                    .tag("class", endpointClass.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("booking.rate_limit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes one token from the client's bucket for this class of endpoint. Returns 0 when the
+     * request is admitted, otherwise how many nanoseconds until it would be.
+     */
+    public long tryAcquire(EndpointClass endpointClass, String client) {
+        Budget budget = budgets.get(endpointClass);
+        long now = System.nanoTime();
+        AtomicLong fullAt = buckets.computeIfAbsent(endpointClass.name() + "|" + client, key -> new AtomicLong(now));
+        while (true) {
+            long current = fullAt.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - budget.burstNanos;
+            if (wait > 0) {
+                rejected.get(endpointClass).increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + budget.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    private static class Budget {
+        final long intervalNanos;
+        final long burstNanos;
+
+        Budget(int capacity, double perSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.burstNanos = intervalNanos * (Math.max(1, capacity) - 1);
+        }
+    }
+}
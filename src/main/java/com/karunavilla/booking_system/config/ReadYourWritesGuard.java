@@ -0,0 +1,51 @@
+package com.karunavilla.booking_system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Keeps reads on the primary for a short window after this instance wrote bookings, so a client
+ * that saves and immediately reloads sees its own change despite replica lag.
+ *
+ * The window is global to the instance: there are no user sessions to scope it to, and writes are
+ * rare enough that briefly sending all reads to the primary costs little. Writes made through
+ * another instance are not covered.
+ */
+@Component
+public class ReadYourWritesGuard {
+
+    private final long windowNanos;
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+
+    public ReadYourWritesGuard(@Value("${booking.datasource.replica.read-your-writes-window:PT2S}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    // Starts the window, or when called inside a transaction, starts it once that transaction commits
+    public void recordWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markNow();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markNow();
+            }
+        });
+    }
+
+    public boolean isActive() {
+        return written && System.nanoTime() - lastWriteNanos < windowNanos;
+    }
+
+    private void markNow() {
+        lastWriteNanos = System.nanoTime();
+        written = true;
+    }
+}
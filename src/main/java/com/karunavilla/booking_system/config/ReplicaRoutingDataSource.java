@@ -0,0 +1,39 @@
+package com.karunavilla.booking_system.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions started by service methods to the replica and everything else to
+ * the primary.
+ *
+ * Only transactions named after a class in the service package qualify. Spring Data runs its own
+ * finder methods in read-only transactions too, and those back lookups on the write path (the room
+ * catalog, the occupancy index load) that must see the primary. Must sit behind a
+ * LazyConnectionDataSourceProxy so the key is resolved once the transaction flags are set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final String SERVICE_PACKAGE = "com.karunavilla.booking_system.service.";
+
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public ReplicaRoutingDataSource(ReadYourWritesGuard readYourWritesGuard) {
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName == null || !transactionName.startsWith(SERVICE_PACKAGE)) {
+            return PRIMARY;
+        }
+        return readYourWritesGuard.isActive() ? PRIMARY : REPLICA;
+    }
+}
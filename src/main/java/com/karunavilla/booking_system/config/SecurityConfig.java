@@ -1,5 +1,6 @@
 package com.karunavilla.booking_system.config;
 
+import com.karunavilla.booking_system.controller.BookingController;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -17,19 +18,21 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, RateLimiter rateLimiter) throws Exception {
         http
             .authorizeHttpRequests(authorizeRequests ->
                 authorizeRequests
                     .anyRequest().permitAll()
             )
             .httpBasic(Customizer.withDefaults()) // Enable HTTP Basic authentication
+            .addFilterAfter(new RateLimitFilter(rateLimiter), BasicAuthenticationFilter.class) // Per-client budgets, keyed by the authenticated user when there is one
             .cors(Customizer.withDefaults()) // Enable CORS with default configuration
             .csrf(csrf -> csrf.disable()); // Explicitly disable CSRF to allow POST requests from other origins
 
@@ -42,6 +45,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("https://api.karunavillas.com/","https://admin.karunavillas.com/","http://localhost:3000", "https://booking-ui-anurak-x.vercel.app/","https://bookingui-anurakx.onrender.com/")); // Allow your frontend origin
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Collections.singletonList("*")); // Allow all headers
+        configuration.setExposedHeaders(Arrays.asList(BookingController.NEXT_CURSOR_HEADER, "ETag", "Last-Modified",
+                BookingController.IDEMPOTENT_REPLAYED_HEADER, "Retry-After")); // Let browsers read the paging cursor, validators, replay marker and rate-limit backoff
         configuration.setAllowCredentials(true); // Allow credentials (e.g., cookies, authorization headers)
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration); // Apply this CORS configuration to all paths
@@ -1,41 +1,204 @@
 package com.karunavilla.booking_system.controller;
 
 import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.AvailabilityCalendar;
+import com.karunavilla.booking_system.model.BookingChanges;
 import com.karunavilla.booking_system.model.BookingDTO;
-import com.karunavilla.booking_system.model.BookingResponseDTO;
+import com.karunavilla.booking_system.model.CacheStats;
+import com.karunavilla.booking_system.model.BookingExportFormat;
+import com.karunavilla.booking_system.model.BookingPage;
+import com.karunavilla.booking_system.model.BookingSearchRequest;
+import com.karunavilla.booking_system.model.GuestSearchResult;
+import com.karunavilla.booking_system.model.IdempotentResponse;
+import com.karunavilla.booking_system.model.OccupancyReport;
+import com.karunavilla.booking_system.model.ReportGrouping;
 import com.karunavilla.booking_system.model.RoomAvailabilityRequest;
 import com.karunavilla.booking_system.model.RoomAvailabilityResponse; // Added import
+import com.karunavilla.booking_system.service.AvailabilityCalendarService;
+import com.karunavilla.booking_system.service.BookingChangeFeedService;
+import com.karunavilla.booking_system.service.BookingExportService;
 import com.karunavilla.booking_system.service.BookingService;
+import com.karunavilla.booking_system.service.DataVersion;
+import com.karunavilla.booking_system.service.GuestSearchService;
+import com.karunavilla.booking_system.service.IdempotencyConflictException;
+import com.karunavilla.booking_system.service.IdempotencyService;
+import com.karunavilla.booking_system.service.InvalidIdempotencyKeyException;
+import com.karunavilla.booking_system.service.OccupancyReportService;
+import com.karunavilla.booking_system.service.SyncTokenExpiredException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private AvailabilityCalendarService availabilityCalendarService;
+
+    @Autowired
+    private BookingChangeFeedService bookingChangeFeedService;
+
+    @Autowired
+    private OccupancyReportService occupancyReportService;
+
+    @Autowired
+    private GuestSearchService guestSearchService;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
     @PostMapping(path = "/saveBooking")
-    public ResponseEntity<?> saveBooking(@Valid @RequestBody BookingDTO booking){
-        bookingService.createBooking(booking);
-        return ResponseEntity.ok("Booking created successfully");
+    public ResponseEntity<?> saveBooking(@Valid @RequestBody BookingDTO booking,
+                                         @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey){
+        if (idempotencyKey == null) {
+            bookingService.createBooking(booking);
+            return ResponseEntity.ok("Booking created successfully");
+        }
+        return idempotent("saveBooking", idempotencyKey, booking, () -> {
+            bookingService.createBooking(booking);
+            return IdempotentResponse.of(HttpStatus.OK.value(), MediaType.TEXT_PLAIN_VALUE, "Booking created successfully");
+        });
+    }
+
+    @PostMapping(path = "/bookings/batch")
+    public ResponseEntity<?> saveBookings(@RequestBody List<BookingDTO> bookings,
+                                          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (bookings.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch can contain at most " + MAX_BATCH_SIZE + " bookings");
+        }
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(bookingService.createBookings(bookings));
+        }
+        return idempotent("bookings/batch", idempotencyKey, bookings, () -> IdempotentResponse.of(HttpStatus.OK.value(),
+                MediaType.APPLICATION_JSON_VALUE, jsonMapper.writeValueAsString(bookingService.createBookings(bookings))));
+    }
+
+    // Runs the request once per key; retries get the stored response, marked with a replay header
+    private ResponseEntity<String> idempotent(String scope, String idempotencyKey, Object request,
+                                              Supplier<IdempotentResponse> action) {
+        IdempotentResponse response;
+        try {
+            response = idempotencyService.execute(scope, idempotencyKey, request, action);
+        } catch (IdempotencyConflictException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (InvalidIdempotencyKeyException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatus())
+                .contentType(MediaType.parseMediaType(response.getContentType()));
+        if (response.isReplayed()) {
+            builder.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return builder.body(response.getBody());
     }
 
     @GetMapping(path = "/allBooking")
-    public ResponseEntity<?> getBookingDetails() {
-        List<BookingResponseDTO> bookingDetails = bookingService.getAllBookingDetails();
-        return ResponseEntity.ok(bookingDetails);
+    public ResponseEntity<?> getBookingDetails(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "roomNo", required = false) String roomNo,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        BookingSearchRequest request = new BookingSearchRequest();
+        request.setFromDate(from);
+        request.setToDate(to);
+        request.setStatus(status);
+        request.setRoomNo(roomNo);
+        request.setCursor(cursor);
+        request.setLimit(limit);
+        BookingPage page;
+        try {
+            page = bookingService.getBookingDetails(request);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        // The body stays a plain list for existing clients; the next page is announced in a header
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
+    }
+
+    @GetMapping(path = "/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "roomNo", required = false) String roomNo) {
+        BookingExportFormat exportFormat;
+        try {
+            exportFormat = BookingExportFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        BookingSearchRequest filter = new BookingSearchRequest();
+        filter.setFromDate(from);
+        filter.setToDate(to);
+        filter.setStatus(status);
+        filter.setRoomNo(roomNo);
+        StreamingResponseBody body = outputStream -> bookingExportService.exportBookings(exportFormat, filter, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping(path = "/bookings/changes")
+    public ResponseEntity<BookingChanges> getBookingChanges(@RequestParam(value = "since", required = false) String since) {
+        try {
+            return ResponseEntity.ok(bookingChangeFeedService.getChanges(since));
+        } catch (SyncTokenExpiredException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @GetMapping(path = "/bookings/{id}")
-    public ResponseEntity<?> getBookingDetailsById(@PathVariable Long id) {
+    public ResponseEntity<?> getBookingDetailsById(@PathVariable Long id, WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
         BookingDTO bookingDetails = bookingService.getBookingDetailsById(id);
-        return ResponseEntity.ok(bookingDetails);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(bookingDetails);
     }
 
     @PutMapping(path = "/bookings/{id}")
@@ -53,18 +216,75 @@ public class BookingController {
     @GetMapping("/available-rooms")
     public ResponseEntity<List<RoomAvailabilityResponse>> getRoomsAvailable(
             @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
         RoomAvailabilityRequest request = new RoomAvailabilityRequest();
         request.setStartDate(startDate);
         request.setEndDate(endDate);
         List<RoomAvailabilityResponse> availableRooms = bookingService.getRoomsAvailable(request);
-        return ResponseEntity.ok(availableRooms);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(availableRooms);
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<AvailabilityCalendar> getCalendar(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(availabilityCalendarService.getCalendar(from, to));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/reports/occupancy")
+    public ResponseEntity<?> getOccupancyReport(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "groupBy", defaultValue = "month") String groupBy,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        try {
+            OccupancyReport report = occupancyReportService.getReport(from, to, ReportGrouping.fromParam(groupBy));
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(report);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/guests/search")
+    public ResponseEntity<List<GuestSearchResult>> searchGuests(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(guestSearchService.search(query, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @GetMapping("/allRooms")
-    public ResponseEntity<?> getAllRoomsAvailable(){
+    public ResponseEntity<?> getAllRoomsAvailable(WebRequest webRequest){
+        if (isNotModified(webRequest)) {
+            return null;
+        }
         List<Room> availableRooms = bookingService.getAllRoomsAvailable();
-        return ResponseEntity.ok(availableRooms);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(availableRooms);
     }
-}
 
+    @GetMapping("/rooms/cache-stats")
+    public ResponseEntity<CacheStats> getRoomCacheStats() {
+        return ResponseEntity.ok(bookingService.getRoomCacheStats());
+    }
+
+    // Sets ETag and Last-Modified from the in-memory data version; true when the client's copy is current.
+    // The tag is taken before any data is read, so it can never be newer than the body it labels.
+    private boolean isNotModified(WebRequest webRequest) {
+        DataVersion.Snapshot version = dataVersion.snapshot();
+        return webRequest.checkNotModified(version.etag(), version.getLastModified().toEpochMilli());
+    }
+}
@@ -1,10 +1,14 @@
 package com.karunavilla.booking_system.model;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AdditionalPay {
     private String category;
     private BigDecimal amount;
@@ -0,0 +1,17 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCalendar {
+    private LocalDate from;
+    private LocalDate to; // exclusive: the last column is the night starting the day before
+    private List<RoomCalendar> rooms;
+}
@@ -0,0 +1,29 @@
+package com.karunavilla.booking_system.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResult {
+    private int index; // position of the booking in the request
+    private String status; // "CREATED" or "REJECTED"
+    private Long bookingId;
+    private String message;
+
+    public static BatchBookingResult created(int index, Long bookingId) {
+        return new BatchBookingResult(index, "CREATED", bookingId, null);
+    }
+
+    public static BatchBookingResult rejected(int index, String message) {
+        return new BatchBookingResult(index, "REJECTED", null, message);
+    }
+
+    @JsonIgnore
+    public boolean isCreated() {
+        return "CREATED".equals(status);
+    }
+}
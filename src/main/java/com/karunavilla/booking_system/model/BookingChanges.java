@@ -0,0 +1,18 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingChanges {
+    private List<BookingResponseDTO> changed; // created or modified; may repeat rows already sent
+    private List<Long> deleted;
+    private String nextToken;
+    private boolean fullSync; // true while 'changed' is a page of the full listing rather than changes
+    private boolean more; // another full sync page follows; call again with nextToken right away
+}
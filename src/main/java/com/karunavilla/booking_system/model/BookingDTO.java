@@ -3,11 +3,15 @@ package com.karunavilla.booking_system.model;
 
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class BookingDTO {
 
     @NotBlank(message = "Guest full name is required")
@@ -51,4 +55,22 @@ public class BookingDTO {
 
     private String internalNotes;
 
+    // Constructor used by the JPQL projection in BookingRepository
+    public BookingDTO(String fullName, String emailId, String mobileNumber, String roomNo, Instant checkInDate,
+                      Instant checkOutDate, String bookingSource, String internalNotes, BigDecimal nightlyRate,
+                      BigDecimal totalAmount, BigDecimal advanceAmount, String paymentMethod) {
+        this.fullName = fullName;
+        this.emailId = emailId;
+        this.mobileNumber = mobileNumber;
+        this.roomNo = roomNo;
+        this.checkInDate = checkInDate != null ? checkInDate.atZone(ZoneOffset.UTC).toLocalDate() : null;
+        this.checkOutDate = checkOutDate != null ? checkOutDate.atZone(ZoneOffset.UTC).toLocalDate() : null;
+        this.bookingSource = bookingSource;
+        this.internalNotes = internalNotes;
+        this.nightlyRate = nightlyRate;
+        this.totalAmount = totalAmount;
+        this.advanceAmount = advanceAmount;
+        this.paymentMethod = paymentMethod;
+    }
+
 }
@@ -0,0 +1,27 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// What guest notifications and webhooks receive for a booking change
+@Data
+@NoArgsConstructor
+public class BookingEvent {
+    private Long eventId; // the outbox row id; stays the same across redeliveries, so receivers can dedupe on it
+    private BookingEventType type;
+    private Long bookingId;
+    private Instant occurredAt;
+    private String guestName;
+    private String email;
+    private String mobileNumber;
+    private String roomNo;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private String bookingSource;
+    private BigDecimal totalAmount;
+    private BigDecimal balance;
+}
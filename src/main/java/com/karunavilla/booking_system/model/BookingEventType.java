@@ -0,0 +1,7 @@
+package com.karunavilla.booking_system.model;
+
+public enum BookingEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
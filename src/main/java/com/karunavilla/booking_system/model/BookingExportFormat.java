@@ -0,0 +1,26 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.Getter;
+
+@Getter
+public enum BookingExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    BookingExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public static BookingExportFormat fromParam(String format) {
+        for (BookingExportFormat exportFormat : values()) {
+            if (exportFormat.fileExtension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format);
+    }
+}
@@ -0,0 +1,13 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BookingPage {
+    private List<BookingResponseDTO> bookings;
+    private String nextCursor; // null when this is the last page
+}
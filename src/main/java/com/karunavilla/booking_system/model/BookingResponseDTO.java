@@ -1,12 +1,14 @@
 package com.karunavilla.booking_system.model;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
 public class BookingResponseDTO {
     private Long id;
     private String guest;
@@ -20,4 +22,20 @@ public class BookingResponseDTO {
     private String contactNumber;
     private String actions;
 
-}
\ No newline at end of file
+    // Constructor used by the JPQL projection in BookingRepository
+    public BookingResponseDTO(Long id, String guest, String bookingSource, String room, Instant checkInDate,
+                              Instant checkOutDate, String status, BigDecimal balance, String contactNumber,
+                              BigDecimal totalPaid) {
+        this.id = id;
+        this.guest = guest;
+        this.bookingSource = bookingSource;
+        this.room = room;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.status = status;
+        this.contactNumber = contactNumber;
+        this.totalPaid = totalPaid;
+        this.balance = balance;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class BookingSearchRequest {
+    private LocalDate fromDate; // bookings staying on or after this date
+    private LocalDate toDate; // bookings checking in before this date
+    private String status;
+    private String roomNo;
+    private String cursor; // opaque keyset cursor returned with the previous page
+    private Integer limit; // page size; all matching bookings when absent
+}
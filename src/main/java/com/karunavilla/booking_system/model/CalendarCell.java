@@ -0,0 +1,14 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarCell {
+    private Long bookingId;
+    private String status;
+    private String guestInitials;
+}
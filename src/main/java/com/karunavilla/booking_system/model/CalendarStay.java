@@ -0,0 +1,20 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Projection of a booking with just what a calendar cell shows
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarStay {
+    private Long bookingId;
+    private Long roomId;
+    private Instant checkInDate;
+    private Instant checkOutDate;
+    private String status;
+    private String guestName;
+}
@@ -0,0 +1,19 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One daily_room_stats row, as read by the reports
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySourceStat {
+    private LocalDate statDate;
+    private String bookingSource;
+    private int roomsSold;
+    private BigDecimal roomRevenue;
+}
@@ -0,0 +1,16 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A guest's name and contact details, as held by the guest search index
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuestContact {
+    private Long guestId;
+    private String fullName;
+    private String mobileNumber;
+    private String email;
+}
@@ -0,0 +1,14 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Which booking is a guest's most recent stay, by check-in date
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuestLatestBooking {
+    private Long guestId;
+    private Long bookingId;
+}
@@ -0,0 +1,16 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GuestSearchResult {
+    private Long guestId;
+    private String fullName;
+    private String mobileNumber;
+    private String email;
+    private BookingResponseDTO latestBooking; // null for guests whose bookings were all deleted
+}
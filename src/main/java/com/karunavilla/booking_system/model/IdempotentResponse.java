@@ -0,0 +1,24 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A response as it went out the first time, kept so a retried request can get it again
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotentResponse {
+    private int status;
+    private String contentType;
+    private String body;
+    private boolean replayed;
+
+    public static IdempotentResponse of(int status, String contentType, String body) {
+        return new IdempotentResponse(status, contentType, body, false);
+    }
+
+    public IdempotentResponse asReplay() {
+        return new IdempotentResponse(status, contentType, body, true);
+    }
+}
@@ -0,0 +1,19 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyReport {
+    private LocalDate from;
+    private LocalDate to; // exclusive
+    private ReportGrouping groupBy;
+    private int rooms;
+    private List<OccupancyReportRow> rows;
+}
@@ -0,0 +1,20 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyReportRow {
+    private String period; // the day, the month (yyyy-MM) or the booking source
+    private long roomNightsAvailable;
+    private long roomNightsSold;
+    private BigDecimal roomRevenue;
+    private BigDecimal occupancyPercent;
+    private BigDecimal adr; // average daily rate: revenue per room-night sold
+    private BigDecimal revpar; // revenue per available room-night
+}
@@ -0,0 +1,16 @@
+package com.karunavilla.booking_system.model;
+
+public enum ReportGrouping {
+    DAY,
+    MONTH,
+    SOURCE;
+
+    public static ReportGrouping fromParam(String groupBy) {
+        for (ReportGrouping grouping : values()) {
+            if (grouping.name().equalsIgnoreCase(groupBy)) {
+                return grouping;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported grouping: " + groupBy);
+    }
+}
@@ -0,0 +1,17 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomCalendar {
+    private Long roomId;
+    private String roomNumber;
+    private String roomName;
+    private List<CalendarCell> nights; // one entry per night from the calendar's start, null when free
+}
@@ -0,0 +1,18 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Lightweight projection of a booking's room and dates, used to feed the occupancy index
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomStay {
+    private Long bookingId;
+    private Long roomId;
+    private Instant checkInDate;
+    private Instant checkOutDate;
+}
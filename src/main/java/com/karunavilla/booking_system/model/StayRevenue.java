@@ -0,0 +1,20 @@
+package com.karunavilla.booking_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Projection of a booking with just what the daily rollups need
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StayRevenue {
+    private String bookingSource;
+    private Instant checkInDate;
+    private Instant checkOutDate;
+    private BigDecimal amountPerNight;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,22 @@
+package com.karunavilla.booking_system.repository;
+
+import com.karunavilla.booking_system.Entity.BookingCharge;
+import com.karunavilla.booking_system.model.AdditionalPay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface BookingChargeRepository extends JpaRepository<BookingCharge, Long> {
+
+    @Query("SELECT new com.karunavilla.booking_system.model.AdditionalPay(c.category, c.amount) " +
+           "FROM BookingCharge c WHERE c.booking.id = :bookingId ORDER BY c.id")
+    List<AdditionalPay> findChargesOfBooking(@Param("bookingId") Long bookingId);
+
+    @Query("SELECT COALESCE(SUM(c.amount), 0) FROM BookingCharge c WHERE c.booking.id = :bookingId")
+    BigDecimal sumChargesOfBooking(@Param("bookingId") Long bookingId);
+}
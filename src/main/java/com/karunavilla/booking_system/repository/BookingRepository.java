@@ -1,22 +1,51 @@
 package com.karunavilla.booking_system.repository;
 
 import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.Guest;
 import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.BookingDTO;
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import com.karunavilla.booking_system.model.CalendarStay;
+import com.karunavilla.booking_system.model.GuestLatestBooking;
+import com.karunavilla.booking_system.model.RoomStay;
+import com.karunavilla.booking_system.model.StayRevenue;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // Guest, room and payment totals for each booking in a single statement, no entities loaded.
+    // totalPaid and balance are read off the booking row, payments are not touched.
+    String BOOKING_SUMMARY_SELECT = "SELECT new com.karunavilla.booking_system.model.BookingResponseDTO(" +
+           "b.id, g.fullName, b.bookingSource, r.roomNumber, b.checkInDate, b.checkOutDate, b.status, " +
+           "b.balance, g.mobileNumber, b.totalPaid) " +
+           "FROM Booking b JOIN b.guest g JOIN b.room r ";
 
-    // New method for scheduled task
-    @Query("SELECT b FROM Booking b JOIN b.room r WHERE b.checkOutDate < :currentTime AND b.status = 'CONFIRMED' AND r.status = 'BOOKED'")
-    List<Booking> findExpiredBookingsWithBookedRooms(@Param("currentTime") Instant currentTime);
+    // One chunk of the checkout sweep, oldest check-out first; a projection, so no guest or room is loaded
+    @Query("SELECT new com.karunavilla.booking_system.model.RoomStay(b.id, r.id, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b JOIN b.room r WHERE b.checkOutDate < :currentTime AND b.status = 'CONFIRMED' AND r.status = 'BOOKED' " +
+           "ORDER BY b.checkOutDate, b.id")
+    List<RoomStay> findExpiredBookingsWithBookedRooms(@Param("currentTime") Instant currentTime, Pageable pageable);
+
+    // Bulk, so the caller bumps DataVersion and updates the occupancy index; version and changeVersion
+    // move by hand so the change feed and concurrent editors see the edit
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'CHECKED_OUT', b.version = b.version + 1, b.updatedAt = :now, b.changeVersion = NULL " +
+           "WHERE b.id IN :ids AND b.status = 'CONFIRMED'")
+    int checkOut(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 
     @Query("SELECT b FROM Booking b WHERE " +
            "(b.checkInDate < :requestedCheckOut AND b.checkOutDate > :requestedCheckIn) " +
@@ -30,4 +59,110 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findOverlappingBookingsForRoom(@Param("room") Room room,
                                                  @Param("requestedCheckIn") Instant requestedCheckIn,
                                                  @Param("requestedCheckOut") Instant requestedCheckOut);
+
+    @Query("SELECT b.room.id FROM Booking b WHERE b.id = :bookingId")
+    Optional<Long> findRoomIdByBookingId(@Param("bookingId") Long bookingId);
+
+    // Seeds the in-memory occupancy index without hydrating Booking entities
+    @Query("SELECT new com.karunavilla.booking_system.model.RoomStay(b.id, b.room.id, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b WHERE b.status = 'CONFIRMED'")
+    List<RoomStay> findConfirmedRoomStays();
+
+    // Single overlap check for a whole batch of requested stays
+    @Query("SELECT new com.karunavilla.booking_system.model.RoomStay(b.id, b.room.id, b.checkInDate, b.checkOutDate) " +
+           "FROM Booking b WHERE b.room.id IN :roomIds AND " +
+           "(b.checkInDate < :requestedCheckOut AND b.checkOutDate > :requestedCheckIn) " +
+           "AND b.status = 'CONFIRMED'")
+    List<RoomStay> findOverlappingRoomStays(@Param("roomIds") Collection<Long> roomIds,
+                                            @Param("requestedCheckIn") Instant requestedCheckIn,
+                                            @Param("requestedCheckOut") Instant requestedCheckOut);
+
+    // Most recent stay of each guest, over idx_bookings_guest_id; ties come back as several rows
+    @Query("SELECT new com.karunavilla.booking_system.model.GuestLatestBooking(b.guest.id, b.id) FROM Booking b " +
+           "WHERE b.guest.id IN :guestIds AND b.checkInDate = " +
+           "(SELECT MAX(lb.checkInDate) FROM Booking lb WHERE lb.guest = b.guest)")
+    List<GuestLatestBooking> findLatestBookingsOfGuests(@Param("guestIds") Collection<Long> guestIds);
+
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE b.id IN :ids ORDER BY b.id")
+    List<BookingResponseDTO> findBookingSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Detail view of one booking with its first advance payment, read straight into the DTO
+    @Query("SELECT new com.karunavilla.booking_system.model.BookingDTO(" +
+           "g.fullName, g.email, g.mobileNumber, r.roomNumber, b.checkInDate, b.checkOutDate, b.bookingSource, " +
+           "b.internalNotes, b.amountPerNight, b.totalAmount, p.advanceAmount, p.methodAdvanceAmountPaid) " +
+           "FROM Booking b JOIN b.guest g JOIN b.room r " +
+           "LEFT JOIN b.payments p ON p.id = " +
+           "(SELECT MIN(ap.id) FROM Payment ap WHERE ap.booking = b AND ap.type = 'ADVANCE') " +
+           "WHERE b.id = :id")
+    Optional<BookingDTO> findBookingDetailsById(@Param("id") Long id);
+
+    // Bookings whose stored totalPaid/balance disagree with their payments
+    @Query("SELECT b.id FROM Booking b WHERE " +
+           "b.totalPaid <> COALESCE((SELECT SUM(p.advanceAmount) FROM Payment p WHERE p.booking = b), 0) " +
+           "OR b.balance <> COALESCE(b.totalAmount, 0) - b.totalPaid")
+    List<Long> findIdsWithInconsistentPaymentTotals();
+
+    @Query("SELECT b.id FROM Booking b WHERE b.changeVersion > :since")
+    List<Long> findIdsChangedAfter(@Param("since") long since);
+
+    // Bookings whose guest details changed; goes through the guests.change_version index
+    @Query("SELECT b.id FROM Booking b JOIN b.guest g WHERE g.changeVersion > :since")
+    List<Long> findIdsWithGuestChangedAfter(@Param("since") long since);
+
+    // One page of a full sync, in id order
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE b.id > :afterId ORDER BY b.id")
+    List<BookingResponseDTO> findBookingSummariesAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    // Everything a tape chart shows for the window, grouped by room and in stay order
+    @Query("SELECT new com.karunavilla.booking_system.model.CalendarStay(b.id, b.room.id, b.checkInDate, b.checkOutDate, b.status, g.fullName) " +
+           "FROM Booking b JOIN b.guest g " +
+           "WHERE b.checkInDate < :to AND b.checkOutDate > :from AND b.status <> 'CANCELLED' " +
+           "ORDER BY b.room.id, b.checkInDate")
+    List<CalendarStay> findCalendarStays(@Param("from") Instant from, @Param("to") Instant to);
+
+    // Keyset page ordered by (checkInDate, id); every filter is optional
+    @Query(BOOKING_SUMMARY_SELECT +
+           "WHERE (:fromDate IS NULL OR b.checkOutDate > :fromDate) " +
+           "AND (:toDate IS NULL OR b.checkInDate < :toDate) " +
+           "AND (:status IS NULL OR b.status = :status) " +
+           "AND (:roomNo IS NULL OR r.roomNumber = :roomNo) " +
+           "AND (:afterCheckIn IS NULL OR b.checkInDate > :afterCheckIn " +
+           "     OR (b.checkInDate = :afterCheckIn AND b.id > :afterId)) " +
+           "ORDER BY b.checkInDate, b.id")
+    List<BookingResponseDTO> findBookingSummaries(@Param("fromDate") Instant fromDate,
+                                                  @Param("toDate") Instant toDate,
+                                                  @Param("status") String status,
+                                                  @Param("roomNo") String roomNo,
+                                                  @Param("afterCheckIn") Instant afterCheckIn,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    // Every stay that counts as sold, for the daily rollup rebuild; consume inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new com.karunavilla.booking_system.model.StayRevenue(" +
+           "b.bookingSource, b.checkInDate, b.checkOutDate, b.amountPerNight, b.totalAmount) " +
+           "FROM Booking b WHERE b.status IS NULL OR b.status <> 'CANCELLED'")
+    Stream<StayRevenue> streamSoldStays();
+
+    // Forward-only cursor for exports, with the /allBooking filters; the caller must consume it inside a transaction
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(BOOKING_SUMMARY_SELECT +
+           "WHERE (:fromDate IS NULL OR b.checkOutDate > :fromDate) " +
+           "AND (:toDate IS NULL OR b.checkInDate < :toDate) " +
+           "AND (:status IS NULL OR b.status = :status) " +
+           "AND (:roomNo IS NULL OR r.roomNumber = :roomNo) " +
+           "ORDER BY b.id")
+    Stream<BookingResponseDTO> streamBookingSummaries(@Param("fromDate") Instant fromDate,
+                                                      @Param("toDate") Instant toDate,
+                                                      @Param("status") String status,
+                                                      @Param("roomNo") String roomNo);
+
+    // Moves bookings onto the guest they were merged into; bulk, so the caller bumps DataVersion.
+    // Version and changeVersion move by hand so the change feed and concurrent editors see the edit.
+    @Modifying
+    @Query("UPDATE Booking b SET b.guest = :survivor, b.version = b.version + 1, b.updatedAt = :now, b.changeVersion = NULL " +
+           "WHERE b.guest IN :duplicates")
+    int reassignGuest(@Param("survivor") Guest survivor,
+                      @Param("duplicates") Collection<Guest> duplicates,
+                      @Param("now") Instant now);
 }
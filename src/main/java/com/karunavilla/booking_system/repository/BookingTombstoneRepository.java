@@ -0,0 +1,22 @@
+package com.karunavilla.booking_system.repository;
+
+import com.karunavilla.booking_system.Entity.BookingTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface BookingTombstoneRepository extends JpaRepository<BookingTombstone, Long> {
+
+    @Query("SELECT t.bookingId FROM BookingTombstone t WHERE t.changeVersion > :since")
+    List<Long> findBookingIdsDeletedAfter(@Param("since") long since);
+
+    @Modifying
+    @Query("DELETE FROM BookingTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,36 @@
+package com.karunavilla.booking_system.repository;
+
+import com.karunavilla.booking_system.Entity.DailyRoomStat;
+import com.karunavilla.booking_system.model.DailySourceStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRoomStatRepository extends JpaRepository<DailyRoomStat, DailyRoomStat.Key> {
+
+    // Adds a delta to one day in a single statement, creating the row on first use; the row lock it
+    // takes is held to commit, so concurrent bookings touching the same day add up instead of racing
+    @Modifying
+    @Query("INSERT INTO DailyRoomStat (statDate, bookingSource, roomsSold, roomRevenue) " +
+           "VALUES (:statDate, :bookingSource, :roomsSold, :roomRevenue) " +
+           "ON CONFLICT (statDate, bookingSource) DO UPDATE SET " +
+           "roomsSold = roomsSold + excluded.roomsSold, roomRevenue = roomRevenue + excluded.roomRevenue")
+    void addToDay(@Param("statDate") LocalDate statDate, @Param("bookingSource") String bookingSource,
+                  @Param("roomsSold") int roomsSold, @Param("roomRevenue") BigDecimal roomRevenue);
+
+    @Query("SELECT new com.karunavilla.booking_system.model.DailySourceStat(" +
+           "s.statDate, s.bookingSource, s.roomsSold, s.roomRevenue) FROM DailyRoomStat s " +
+           "WHERE s.statDate >= :from AND s.statDate < :to ORDER BY s.statDate, s.bookingSource")
+    List<DailySourceStat> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailyRoomStat s")
+    int deleteAllStats();
+}
@@ -1,14 +1,48 @@
 package com.karunavilla.booking_system.repository;
 
 import com.karunavilla.booking_system.Entity.Guest;
+import com.karunavilla.booking_system.model.GuestContact;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface GuestRepository extends JpaRepository<Guest, Long> {
 
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.guest.id = :guestId")
-    Long countBookingsByGuestId(@Param("guestId") Long guestId);
+    // Repeat guests resolve to the oldest row with their key (idx_guests_normalized_mobile / _email)
+    Optional<Guest> findFirstByNormalizedMobileOrderByIdAsc(String normalizedMobile);
+
+    Optional<Guest> findFirstByNormalizedEmailOrderByIdAsc(String normalizedEmail);
+
+    List<Guest> findByNormalizedMobileInOrderByIdAsc(Collection<String> normalizedMobiles);
+
+    List<Guest> findByNormalizedEmailInOrderByIdAsc(Collection<String> normalizedEmails);
+
+    // Seeds the guest search index without hydrating Guest entities
+    @Query("SELECT new com.karunavilla.booking_system.model.GuestContact(g.id, g.fullName, g.mobileNumber, g.email) FROM Guest g")
+    List<GuestContact> findAllContacts();
+
+    // Rows written before the normalized columns existed, paged by id
+    @Query("SELECT g FROM Guest g WHERE g.id > :afterId AND " +
+           "((g.mobileNumber IS NOT NULL AND g.normalizedMobile IS NULL) OR (g.email IS NOT NULL AND g.normalizedEmail IS NULL)) " +
+           "ORDER BY g.id")
+    List<Guest> findUnnormalizedAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT g.normalizedMobile FROM Guest g WHERE g.normalizedMobile IS NOT NULL " +
+           "GROUP BY g.normalizedMobile HAVING COUNT(g) > 1 ORDER BY g.normalizedMobile")
+    List<String> findSharedMobiles(Pageable pageable);
+
+    // Email only decides for guests without a mobile number, so two numbers sharing an inbox stay apart
+    @Query("SELECT g.normalizedEmail FROM Guest g WHERE g.normalizedMobile IS NULL AND g.normalizedEmail IS NOT NULL " +
+           "GROUP BY g.normalizedEmail HAVING COUNT(g) > 1 ORDER BY g.normalizedEmail")
+    List<String> findSharedEmailsWithoutMobile(Pageable pageable);
+
+    @Query("SELECT g FROM Guest g WHERE g.normalizedMobile IS NULL AND g.normalizedEmail IN :normalizedEmails ORDER BY g.id")
+    List<Guest> findWithoutMobileByNormalizedEmailIn(@Param("normalizedEmails") Collection<String> normalizedEmails);
 }
@@ -0,0 +1,44 @@
+package com.karunavilla.booking_system.repository;
+
+import com.karunavilla.booking_system.Entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // 1 when this caller now owns the key, 0 when it was already taken; never fails on the duplicate
+    @Modifying
+    @Query("INSERT INTO IdempotencyRecord (idempotencyKey, requestHash, status, createdAt) " +
+           "VALUES (:key, :requestHash, 'PENDING', :createdAt) ON CONFLICT (idempotencyKey) DO NOTHING")
+    int claim(@Param("key") String key, @Param("requestHash") String requestHash, @Param("createdAt") Instant createdAt);
+
+    // Takes over a PENDING key whose request was claimed before the cutoff and never finished
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.requestHash = :requestHash, r.createdAt = :createdAt " +
+           "WHERE r.idempotencyKey = :key AND r.status = 'PENDING' AND r.createdAt < :cutoff")
+    int reclaimStale(@Param("key") String key, @Param("requestHash") String requestHash,
+                     @Param("createdAt") Instant createdAt, @Param("cutoff") Instant cutoff);
+
+    // The claim's createdAt identifies it, so a request whose key was reclaimed changes nothing
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'COMPLETED', r.responseStatus = :responseStatus, " +
+           "r.contentType = :contentType, r.responseBody = :responseBody " +
+           "WHERE r.idempotencyKey = :key AND r.status = 'PENDING' AND r.createdAt = :claimedAt")
+    int complete(@Param("key") String key, @Param("claimedAt") Instant claimedAt, @Param("responseStatus") int responseStatus,
+                 @Param("contentType") String contentType, @Param("responseBody") String responseBody);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r " +
+           "WHERE r.idempotencyKey = :key AND r.status = 'PENDING' AND r.createdAt = :claimedAt")
+    int release(@Param("key") String key, @Param("claimedAt") Instant claimedAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
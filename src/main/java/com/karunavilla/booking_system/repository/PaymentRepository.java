@@ -2,6 +2,13 @@ package com.karunavilla.booking_system.repository;
 
 import com.karunavilla.booking_system.Entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
+
+    @Query("SELECT DISTINCT p.booking.id FROM Payment p WHERE p.changeVersion > :since")
+    List<Long> findBookingIdsChangedAfter(@Param("since") long since);
 }
@@ -1,12 +1,31 @@
 package com.karunavilla.booking_system.repository;
 
 import com.karunavilla.booking_system.Entity.Room;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
     Optional<Room> findByRoomNumber(String roomNumber);
+
+    // SELECT ... FOR UPDATE in id order, held until the booking transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids ORDER BY r.id")
+    List<Room> lockRooms(@Param("ids") Collection<Long> ids);
+
+    // Frees BOOKED rooms unless a confirmed stay is under way in them; bulk, so the caller drops the room catalog
+    @Modifying
+    @Query("UPDATE Room r SET r.status = 'AVAILABLE' WHERE r.id IN :ids AND r.status = 'BOOKED' AND NOT EXISTS " +
+           "(SELECT b.id FROM Booking b WHERE b.room = r AND b.status = 'CONFIRMED' AND b.checkInDate <= :now AND b.checkOutDate > :now)")
+    int releaseRooms(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 }
@@ -0,0 +1,31 @@
+package com.karunavilla.booking_system.repository;
+
+import com.karunavilla.booking_system.Entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // 1 when the lease row was created for this owner, 0 when it already existed
+    @Modifying
+    @Query("INSERT INTO SchedulerLease (name, owner, lockedUntil) VALUES (:name, :owner, :lockedUntil) " +
+           "ON CONFLICT (name) DO NOTHING")
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("lockedUntil") Instant lockedUntil);
+
+    // Takes over a lease that has run out, or extends one this owner already holds
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.lockedUntil = :lockedUntil " +
+           "WHERE l.name = :name AND (l.lockedUntil < :now OR l.owner = :owner)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") Instant now, @Param("lockedUntil") Instant lockedUntil);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Instant now);
+}
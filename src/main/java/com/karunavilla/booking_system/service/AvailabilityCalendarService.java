@@ -0,0 +1,107 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.AvailabilityCalendar;
+import com.karunavilla.booking_system.model.CalendarCell;
+import com.karunavilla.booking_system.model.CalendarStay;
+import com.karunavilla.booking_system.model.RoomCalendar;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the rooms x nights grid behind the front desk tape chart.
+ *
+ * One range query returns every non-cancelled booking touching the window, already ordered by room
+ * and check-in, and the rooms come from {@link RoomCatalogCache}. The grid is then filled in a
+ * single pass over the bookings. Nights follow the occupancy index: check-in is floored to the
+ * day and check-out rounded up.
+ */
+@Service
+public class AvailabilityCalendarService {
+
+    public static final int MAX_DAYS = 366;
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomCatalogCache roomCatalog;
+
+    @Transactional(readOnly = true)
+    public AvailabilityCalendar getCalendar(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        long fromDay = from.toEpochDay();
+        if (to.toEpochDay() - fromDay > MAX_DAYS) {
+            throw new IllegalArgumentException("The calendar can span at most " + MAX_DAYS + " days");
+        }
+        int days = (int) (to.toEpochDay() - fromDay);
+
+        List<Room> rooms = roomCatalog.findAll();
+        rooms.sort(Comparator.comparing(Room::getRoomNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+        Map<Long, CalendarCell[]> rows = new HashMap<>(rooms.size() * 2);
+        for (Room room : rooms) {
+            rows.put(room.getId(), new CalendarCell[days]);
+        }
+
+        List<CalendarStay> stays = bookingRepository.findCalendarStays(
+                from.atStartOfDay().toInstant(ZoneOffset.UTC), to.atStartOfDay().toInstant(ZoneOffset.UTC));
+        for (CalendarStay stay : stays) {
+            CalendarCell[] row = rows.get(stay.getRoomId());
+            if (row == null || stay.getCheckInDate() == null || stay.getCheckOutDate() == null) {
+                continue;
+            }
+            int first = (int) Math.max(0, firstNight(stay.getCheckInDate()) - fromDay);
+            int end = (int) Math.min(days, endNight(stay.getCheckOutDate()) - fromDay);
+            if (first >= end) {
+                continue;
+            }
+            // Every night of a stay shares one cell instance
+            Arrays.fill(row, first, end, new CalendarCell(stay.getBookingId(), stay.getStatus(), initials(stay.getGuestName())));
+        }
+
+        List<RoomCalendar> roomCalendars = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            roomCalendars.add(new RoomCalendar(room.getId(), room.getRoomNumber(), room.getRoomName(),
+                    Arrays.asList(rows.get(room.getId()))));
+        }
+        return new AvailabilityCalendar(from, to, roomCalendars);
+    }
+
+    private static long firstNight(Instant checkIn) {
+        return Math.floorDiv(checkIn.getEpochSecond(), SECONDS_PER_DAY);
+    }
+
+    // Exclusive: the first night the room is free again
+    private static long endNight(Instant checkOut) {
+        return Math.floorDiv(checkOut.getEpochSecond() + SECONDS_PER_DAY - 1, SECONDS_PER_DAY);
+    }
+
+    static String initials(String fullName) {
+        if (fullName == null) {
+            return "";
+        }
+        StringBuilder initials = new StringBuilder(3);
+        for (String part : fullName.trim().split("\\s+")) {
+            if (!part.isEmpty() && initials.length() < 3) {
+                initials.append(Character.toUpperCase(part.charAt(0)));
+            }
+        }
+        return initials.toString();
+    }
+}
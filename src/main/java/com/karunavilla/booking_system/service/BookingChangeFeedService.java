@@ -0,0 +1,158 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.BookingTombstone;
+import com.karunavilla.booking_system.model.BookingChanges;
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.BookingTombstoneRepository;
+import com.karunavilla.booking_system.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Incremental booking feed for polling clients.
+ *
+ * Every committed write to a booking, its guest or its payments, and every deletion, is stamped
+ * with the data version of its commit (see {@link DataVersion}). Stamps become visible in version
+ * order, so a sync token is simply the last version a client has seen: the next call returns the
+ * bookings stamped after it, through the change_version indexes, and nothing can slip in behind.
+ * Clients treat rows as upserts keyed by id, as a row changed twice may be sent twice.
+ *
+ * Without a token the client gets a full sync, one page of bookings at a time in id order. Each
+ * page's token continues the listing; the last one is an ordinary token for the version the full
+ * sync started at, so changes made while it ran are sent next.
+ */
+@Service
+public class BookingChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingChangeFeedService.class);
+
+    private static final String TOKEN_PREFIX = "v2|";
+    private static final String LEGACY_TOKEN_PREFIX = "v1|";
+    private static final int IDS_PER_QUERY = 500;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private BookingTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Value("${booking.changes.page-size:500}")
+    private int pageSize;
+
+    @Value("${booking.changes.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Transactional(readOnly = true)
+    public BookingChanges getChanges(String since) {
+        if (since == null || since.isBlank()) {
+            // Read first, so every change stamped up to it is visible to the pages that follow
+            return fullSyncPage(new SyncToken(dataVersion.readShared(), 0L, Instant.now()));
+        }
+        SyncToken token = decodeToken(since);
+        if (token.issuedAt.isBefore(Instant.now().minus(tombstoneRetention))) {
+            throw new SyncTokenExpiredException("Sync token is older than " + tombstoneRetention + ", start a full sync");
+        }
+        if (token.afterId != null) {
+            return fullSyncPage(token);
+        }
+
+        long upTo = dataVersion.readShared();
+        Set<Long> changedIds = new TreeSet<>(bookingRepository.findIdsChangedAfter(token.version));
+        changedIds.addAll(paymentRepository.findBookingIdsChangedAfter(token.version));
+        changedIds.addAll(bookingRepository.findIdsWithGuestChangedAfter(token.version));
+
+        List<BookingResponseDTO> changed = new ArrayList<>(changedIds.size());
+        List<Long> ids = new ArrayList<>(changedIds);
+        for (int start = 0; start < ids.size(); start += IDS_PER_QUERY) {
+            changed.addAll(bookingRepository.findBookingSummariesByIds(ids.subList(start, Math.min(ids.size(), start + IDS_PER_QUERY))));
+        }
+        List<Long> deleted = tombstoneRepository.findBookingIdsDeletedAfter(token.version);
+        return new BookingChanges(changed, deleted, encodeToken(new SyncToken(upTo, null, Instant.now())), false, false);
+    }
+
+    private BookingChanges fullSyncPage(SyncToken token) {
+        List<BookingResponseDTO> page = bookingRepository.findBookingSummariesAfterId(token.afterId, PageRequest.of(0, pageSize));
+        boolean more = page.size() == pageSize;
+        SyncToken next = more
+                ? new SyncToken(token.version, page.get(page.size() - 1).getId(), token.issuedAt)
+                : new SyncToken(token.version, null, token.issuedAt);
+        return new BookingChanges(page, List.of(), encodeToken(next), true, more);
+    }
+
+    // Called inside the deleting transaction
+    public void recordDeletion(Long bookingId) {
+        tombstoneRepository.save(new BookingTombstone(bookingId, Instant.now(), null));
+    }
+
+    @Scheduled(cron = "${booking.changes.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(Instant.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            logger.info("Purged {} booking tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    // version|afterId|issuedAt, with afterId empty once the client is past its full sync
+    private static String encodeToken(SyncToken token) {
+        String raw = TOKEN_PREFIX + token.version + "|" + (token.afterId == null ? "" : token.afterId) + "|" + token.issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SyncToken decodeToken(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + token, e);
+        }
+        if (raw.startsWith(LEGACY_TOKEN_PREFIX)) {
+            // Timestamp tokens from before change versions; they cannot be mapped onto one
+            throw new SyncTokenExpiredException("Sync token is from an older version of the feed, start a full sync");
+        }
+        try {
+            if (!raw.startsWith(TOKEN_PREFIX)) {
+                throw new IllegalArgumentException("Unknown token version");
+            }
+            String[] parts = raw.substring(TOKEN_PREFIX.length()).split("\\|", -1);
+            Long afterId = parts[1].isEmpty() ? null : Long.valueOf(parts[1]);
+            return new SyncToken(Long.parseLong(parts[0]), afterId, Instant.parse(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + token, e);
+        }
+    }
+
+    private static final class SyncToken {
+        final long version;
+        final Long afterId; // last booking id sent while a full sync is under way
+        final Instant issuedAt;
+
+        SyncToken(long version, Long afterId, Instant issuedAt) {
+            this.version = version;
+            this.afterId = afterId;
+            this.issuedAt = issuedAt;
+        }
+    }
+}
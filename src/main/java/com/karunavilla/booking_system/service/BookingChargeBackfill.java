@@ -0,0 +1,126 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.BookingCharge;
+import com.karunavilla.booking_system.model.AdditionalPay;
+import com.karunavilla.booking_system.repository.BookingChargeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves charges still held as JSON in payments.additional_amount into booking_charges, then clears
+ * the column. The JSON is a list of {category, amount} objects (a single object is accepted too).
+ * Runs at startup in batches; once the column is empty it costs one query. Values that do not
+ * parse are logged and left in place.
+ *
+ * Every instance runs this at startup. A payment's charges are only inserted by the transaction
+ * whose conditional clear of that exact value updated the row; an instance that loses the race
+ * waits on the row lock, then updates nothing and skips it.
+ */
+@Component
+public class BookingChargeBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingChargeBackfill.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String NEXT_BATCH = "SELECT id, booking_id, additional_amount FROM payments " +
+            "WHERE additional_amount IS NOT NULL AND id > ? ORDER BY id FETCH FIRST " + BATCH_SIZE + " ROWS ONLY";
+
+    // 0 when another instance already moved this value
+    private static final String CLEAR = "UPDATE payments SET additional_amount = NULL WHERE id = ? AND additional_amount = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingChargeRepository chargeRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void moveChargesOffPayments() {
+        int moved = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<PaymentCharges> batch = jdbcTemplate.query(NEXT_BATCH, (rs, rowNum) ->
+                    new PaymentCharges(rs.getLong("id"), rs.getLong("booking_id"), rs.getString("additional_amount")), from);
+            if (batch.isEmpty()) {
+                break;
+            }
+            Integer inserted = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (PaymentCharges payment : batch) {
+                    List<AdditionalPay> charges = parse(payment);
+                    if (charges == null || jdbcTemplate.update(CLEAR, payment.paymentId, payment.json) == 0) {
+                        continue;
+                    }
+                    Booking booking = entityManager.getReference(Booking.class, payment.bookingId);
+                    for (AdditionalPay charge : charges) {
+                        if (charge != null && charge.getAmount() != null) {
+                            chargeRepository.save(new BookingCharge(booking, charge.getCategory(), charge.getAmount()));
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            });
+            moved += inserted == null ? 0 : inserted;
+            afterId = batch.get(batch.size() - 1).paymentId;
+        }
+        if (moved > 0) {
+            logger.info("Moved {} additional charges from payments to booking_charges", moved);
+        }
+    }
+
+    // Null when the value cannot be read; blank values count as no charges
+    private List<AdditionalPay> parse(PaymentCharges payment) {
+        String json = payment.json.trim();
+        if (json.isEmpty() || json.equals("null")) {
+            return List.of();
+        }
+        try {
+            if (json.startsWith("[")) {
+                return Arrays.asList(jsonMapper.readValue(json, AdditionalPay[].class));
+            }
+            return List.of(jsonMapper.readValue(json, AdditionalPay.class));
+        } catch (JacksonException e) {
+            logger.warn("Payment {} has additional_amount that is not a charge list, left in place: {}",
+                    payment.paymentId, e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static final class PaymentCharges {
+        final long paymentId;
+        final long bookingId;
+        final String json;
+
+        PaymentCharges(long paymentId, long bookingId, String json) {
+            this.paymentId = paymentId;
+            this.bookingId = bookingId;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.BookingEvent;
+
+/**
+ * Delivers one booking event downstream (guest email/SMS, webhooks). Called by the outbox
+ * dispatcher outside any transaction; throwing schedules a retry with backoff. The same event can
+ * arrive more than once, with the same eventId.
+ */
+public interface BookingEventSender {
+
+    void send(BookingEvent event) throws Exception;
+}
@@ -0,0 +1,102 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.BookingExportFormat;
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import com.karunavilla.booking_system.model.BookingSearchRequest;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings to an output stream without collecting them first, optionally narrowed by the
+ * same filters as /allBooking (cursor and limit do not apply).
+ *
+ * Rows come from the same projection that backs /allBooking, read through a forward-only
+ * cursor. They are never managed entities, so the persistence context stays empty and heap
+ * use does not grow with the number of bookings.
+ */
+@Service
+public class BookingExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExportService.class);
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final String CSV_HEADER = "id,guest,bookingSource,room,checkInDate,checkOutDate,status,totalPaid,balance,contactNumber";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Transactional(readOnly = true)
+    public void exportBookings(BookingExportFormat format, BookingSearchRequest filter, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == BookingExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<BookingResponseDTO> bookings = bookingRepository.streamBookingSummaries(
+                toStartOfDay(filter.getFromDate()), toStartOfDay(filter.getToDate()), filter.getStatus(), filter.getRoomNo())) {
+            Iterator<BookingResponseDTO> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingResponseDTO booking = iterator.next();
+                writer.write(format == BookingExportFormat.CSV ? toCsvLine(booking) : jsonMapper.writeValueAsString(booking));
+                writer.write('\n');
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} bookings as {}", rows, format);
+    }
+
+    private static Instant toStartOfDay(LocalDate date) {
+        return date != null ? date.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
+    }
+
+    private static String toCsvLine(BookingResponseDTO booking) {
+        return String.join(",",
+                csv(booking.getId()),
+                csv(booking.getGuest()),
+                csv(booking.getBookingSource()),
+                csv(booking.getRoom()),
+                csv(booking.getCheckInDate()),
+                csv(booking.getCheckOutDate()),
+                csv(booking.getStatus()),
+                csv(booking.getTotalPaid()),
+                csv(booking.getBalance()),
+                csv(booking.getContactNumber()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,76 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.BookingOutboxEvent;
+import com.karunavilla.booking_system.model.BookingEvent;
+import com.karunavilla.booking_system.model.BookingEventType;
+import com.karunavilla.booking_system.repository.BookingOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes booking events to the outbox table as part of the booking's own transaction, so an event
+ * exists exactly when its change committed. Nothing here talks to the network; delivery is left to
+ * {@link BookingOutboxDispatcher}.
+ */
+@Service
+public class BookingOutbox {
+
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(BookingEventType type, Booking booking) {
+        outboxRepository.save(newRow(type, booking, Instant.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(BookingEventType type, Collection<Booking> bookings) {
+        Instant now = Instant.now();
+        List<BookingOutboxEvent> rows = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            rows.add(newRow(type, booking, now));
+        }
+        outboxRepository.saveAll(rows);
+    }
+
+    private BookingOutboxEvent newRow(BookingEventType type, Booking booking, Instant now) {
+        BookingOutboxEvent row = new BookingOutboxEvent();
+        row.setEventType(type);
+        row.setBookingId(booking.getId());
+        row.setPayload(jsonMapper.writeValueAsString(toEvent(type, booking, now)));
+        row.setStatus(BookingOutboxEvent.PENDING);
+        row.setCreatedAt(now);
+        row.setNextAttemptAt(now);
+        return row;
+    }
+
+    static BookingEvent toEvent(BookingEventType type, Booking booking, Instant occurredAt) {
+        BookingEvent event = new BookingEvent();
+        event.setType(type);
+        event.setBookingId(booking.getId());
+        event.setOccurredAt(occurredAt);
+        event.setGuestName(booking.getGuest().getFullName());
+        event.setEmail(booking.getGuest().getEmail());
+        event.setMobileNumber(booking.getGuest().getMobileNumber());
+        event.setRoomNo(booking.getRoom().getRoomNumber());
+        event.setCheckInDate(booking.getCheckInDate().atZone(ZoneOffset.UTC).toLocalDate());
+        event.setCheckOutDate(booking.getCheckOutDate().atZone(ZoneOffset.UTC).toLocalDate());
+        event.setBookingSource(booking.getBookingSource());
+        event.setTotalAmount(booking.getTotalAmount());
+        event.setBalance(booking.getBalance());
+        return event;
+    }
+}
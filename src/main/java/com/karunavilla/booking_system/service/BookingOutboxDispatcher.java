@@ -0,0 +1,144 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.BookingOutboxEvent;
+import com.karunavilla.booking_system.model.BookingEvent;
+import com.karunavilla.booking_system.repository.BookingOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drains the booking outbox in the background, so booking requests never wait on downstream I/O.
+ *
+ * Each round claims a batch of due rows with FOR UPDATE SKIP LOCKED and leases them by pushing
+ * next_attempt_at out, then commits before sending anything; no transaction or connection is held
+ * while a sender is slow. A delivered row is deleted. A failed one is retried with exponential
+ * backoff and marked FAILED once it runs out of attempts. If an instance dies mid-batch, its rows
+ * become due again when the lease ends, so delivery is at least once. The lease covers every row
+ * of a batch timing out in turn, so a live instance's rows are not handed to another one while
+ * it is still working through them.
+ */
+@Component
+public class BookingOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+
+    @Autowired
+    private BookingEventSender sender;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${booking.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${booking.outbox.initial-backoff:PT5S}")
+    private Duration initialBackoff;
+
+    @Value("${booking.outbox.max-backoff:PT30M}")
+    private Duration maxBackoff;
+
+    // Lower bound; a batch is leased for at least batchSize send timeouts
+    @Value("${booking.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${booking.events.webhook-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+
+    public BookingOutboxDispatcher(MeterRegistry meterRegistry) {
+        this.delivered = Counter.builder("booking.outbox.events").tag("result", "delivered").register(meterRegistry);
+        this.retried = Counter.builder("booking.outbox.events").tag("result", "retried").register(meterRegistry);
+        this.failed = Counter.builder("booking.outbox.events").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("booking.outbox.pending", this, dispatcher -> dispatcher.outboxRepository.countByStatus(BookingOutboxEvent.PENDING))
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval:PT1S}")
+    public void dispatchDue() {
+        List<BookingOutboxEvent> batch;
+        do {
+            batch = claimBatch();
+            batch.forEach(this::deliver);
+        } while (batch.size() == batchSize);
+    }
+
+    private List<BookingOutboxEvent> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<BookingOutboxEvent> due = outboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            Instant leasedUntil = now.plus(batchLease());
+            due.forEach(row -> row.setNextAttemptAt(leasedUntil));
+            return due;
+        });
+    }
+
+    private void deliver(BookingOutboxEvent row) {
+        try {
+            BookingEvent event = jsonMapper.readValue(row.getPayload(), BookingEvent.class);
+            event.setEventId(row.getId());
+            sender.send(event);
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteById(row.getId()));
+            delivered.increment();
+        } catch (Exception e) {
+            int attempts = row.getAttempts() + 1;
+            row.setAttempts(attempts);
+            row.setLastError(truncate(String.valueOf(e.getMessage())));
+            if (attempts >= maxAttempts) {
+                row.setStatus(BookingOutboxEvent.FAILED);
+                failed.increment();
+                logger.error("Giving up on booking event {} ({} for booking {}) after {} attempts",
+                        row.getId(), row.getEventType(), row.getBookingId(), attempts, e);
+            } else {
+                row.setNextAttemptAt(Instant.now().plus(backoff(attempts)));
+                retried.increment();
+                logger.warn("Booking event {} failed (attempt {}), retrying at {}: {}",
+                        row.getId(), attempts, row.getNextAttemptAt(), e.getMessage());
+            }
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.save(row));
+        }
+    }
+
+    // Rows are sent one after another, so the last one may wait for all the others to time out
+    Duration batchLease() {
+        Duration worstCase = sendTimeout.multipliedBy(batchSize + 1L);
+        return worstCase.compareTo(lease) > 0 ? worstCase : lease;
+    }
+
+    // initialBackoff, doubled per attempt, capped at maxBackoff
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,36 +1,62 @@
 package com.karunavilla.booking_system.service;
 
 import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.BookingCharge;
+import com.karunavilla.booking_system.Entity.DailyRoomStat;
 import com.karunavilla.booking_system.Entity.Guest;
 import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.config.ReadYourWritesGuard;
 import com.karunavilla.booking_system.model.*;
+import com.karunavilla.booking_system.repository.BookingChargeRepository;
 import com.karunavilla.booking_system.repository.BookingRepository;
 import com.karunavilla.booking_system.repository.GuestRepository;
 import com.karunavilla.booking_system.repository.RoomRepository;
 import com.karunavilla.booking_system.Entity.Payment;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 
 
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.karunavilla.booking_system.repository.PaymentRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.ZoneOffset;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "booking.service", description = "BookingService method latency", percentiles = {0.5, 0.95, 0.99})
 public class BookingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -44,139 +70,471 @@ public class BookingService {
     @Autowired
     private PaymentRepository paymentRepository;
 
-    @Transactional
+    @Autowired
+    private BookingChargeRepository bookingChargeRepository;
+
+    @Autowired
+    private RoomOccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RoomCatalogCache roomCatalog;
+
+    @Autowired
+    private ObjectProvider<Validator> validatorProvider;
+
+    @Autowired
+    private RoomLockManager roomLocks;
+
+    @Autowired
+    private BookingChangeFeedService changeFeed;
+
+    @Autowired
+    private ReadYourWritesGuard readYourWrites;
+
+    @Autowired
+    private DailyRoomStatsService dailyRoomStats;
+
+    @Autowired
+    private BookingOutbox outbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOccupancyIndex() {
+        occupancyIndex.rebuild(bookingRepository::findConfirmedRoomStays);
+    }
+
+    /**
+     * Creates a booking while holding the room's lock stripe, with the room row locked in the database
+     * for the length of the transaction. Only writers for the same room wait for each other.
+     */
     public Booking createBooking(BookingDTO bookingDTO) {
         logger.info("Creating booking with DTO: {}", bookingDTO);
         try {
-            Guest guest = new Guest();
+            Room room = roomCatalog.findByRoomNumber(bookingDTO.getRoomNo())
+                    .orElseThrow(() -> new RuntimeException("Room not found"));
+
+            Booking booking = roomLocks.withRoomLocks(List.of(room.getId()),
+                    () -> transactionTemplate.execute(status -> insertBooking(bookingDTO, room.getId())));
+            readYourWrites.recordWrite();
+            logger.info("Booking created successfully with ID: {}", booking.getId());
+            return booking;
+        } catch (Exception e) {
+            logger.error("Error creating booking", e);
+            throw e;
+        }
+    }
+
+    private Booking insertBooking(BookingDTO bookingDTO, Long roomId) {
+        Room room = lockRooms(List.of(roomId)).get(roomId);
+
+        Instant checkInDate = toStartOfDay(bookingDTO.getCheckInDate());
+        Instant checkOutDate = toStartOfDay(bookingDTO.getCheckOutDate());
+
+        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookingsForRoom(room, checkInDate, checkOutDate);
+
+        if (!overlappingBookings.isEmpty()) {
+            throw new RuntimeException("Room " + bookingDTO.getRoomNo() + " is not available for the selected dates.");
+        }
+
+        Guest guest = resolveGuest(bookingDTO);
+        Booking booking = bookingRepository.save(newBooking(bookingDTO, guest, room));
+        dailyRoomStats.apply(Map.of(), dailyRoomStats.contributionOf(booking));
+        outbox.record(BookingEventType.CREATED, booking);
+        return booking;
+    }
+
+    // Row locks on the rooms, taken in id order; the lookup also proves the rooms still exist
+    private Map<Long, Room> lockRooms(Collection<Long> roomIds) {
+        Map<Long, Room> rooms = roomRepository.lockRooms(roomIds).stream()
+                .collect(Collectors.toMap(Room::getId, room -> room));
+        if (rooms.size() != new HashSet<>(roomIds).size()) {
+            throw new RuntimeException("Room not found");
+        }
+        return rooms;
+    }
+
+    /**
+     * Creates many bookings in one transaction. Each item is validated on its own and all overlaps
+     * are checked with a single query; items that fail are reported and skipped, the rest are
+     * inserted in JDBC batches.
+     */
+    public List<BatchBookingResult> createBookings(List<BookingDTO> bookingDTOs) {
+        logger.info("Creating batch of {} bookings", bookingDTOs.size());
+        BatchBookingResult[] results = new BatchBookingResult[bookingDTOs.size()];
+        Map<Integer, Room> roomsByIndex = new LinkedHashMap<>();
+
+        for (int i = 0; i < bookingDTOs.size(); i++) {
+            BookingDTO bookingDTO = bookingDTOs.get(i);
+            String violation = validateForBatch(bookingDTO);
+            if (violation != null) {
+                results[i] = BatchBookingResult.rejected(i, violation);
+                continue;
+            }
+            Optional<Room> room = roomCatalog.findByRoomNumber(bookingDTO.getRoomNo());
+            if (room.isEmpty()) {
+                results[i] = BatchBookingResult.rejected(i, "Room not found: " + bookingDTO.getRoomNo());
+                continue;
+            }
+            roomsByIndex.put(i, room.get());
+        }
+
+        if (!roomsByIndex.isEmpty()) {
+            Set<Long> roomIds = roomsByIndex.values().stream().map(Room::getId).collect(Collectors.toSet());
+            roomLocks.withRoomLocks(roomIds, () -> transactionTemplate.execute(status -> {
+                insertBatch(bookingDTOs, roomsByIndex, roomIds, results);
+                return null;
+            }));
+            readYourWrites.recordWrite();
+        }
+
+        logger.info("Batch finished: {} of {} bookings created", Arrays.stream(results).filter(BatchBookingResult::isCreated).count(), results.length);
+        return Arrays.asList(results);
+    }
+
+    private void insertBatch(List<BookingDTO> bookingDTOs, Map<Integer, Room> roomsByIndex, Set<Long> roomIds,
+                             BatchBookingResult[] results) {
+        Map<Long, Room> lockedRooms = lockRooms(roomIds);
+
+        Instant earliestCheckIn = null;
+        Instant latestCheckOut = null;
+        for (Integer index : roomsByIndex.keySet()) {
+            BookingDTO bookingDTO = bookingDTOs.get(index);
+            Instant checkIn = toStartOfDay(bookingDTO.getCheckInDate());
+            Instant checkOut = toStartOfDay(bookingDTO.getCheckOutDate());
+            earliestCheckIn = earliestCheckIn == null || checkIn.isBefore(earliestCheckIn) ? checkIn : earliestCheckIn;
+            latestCheckOut = latestCheckOut == null || checkOut.isAfter(latestCheckOut) ? checkOut : latestCheckOut;
+        }
+
+        // Existing bookings and the ones accepted earlier in this batch, per room
+        Map<Long, List<RoomStay>> takenByRoom = bookingRepository
+                .findOverlappingRoomStays(roomIds, earliestCheckIn, latestCheckOut)
+                .stream()
+                .collect(Collectors.groupingBy(RoomStay::getRoomId, Collectors.toCollection(ArrayList::new)));
+
+        Map<String, Guest> knownGuests = findGuests(roomsByIndex.keySet().stream().map(bookingDTOs::get).toList());
+        List<Guest> guests = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> bookingIndexes = new ArrayList<>();
+        for (Map.Entry<Integer, Room> entry : roomsByIndex.entrySet()) {
+            int index = entry.getKey();
+            BookingDTO bookingDTO = bookingDTOs.get(index);
+            Room room = lockedRooms.get(entry.getValue().getId());
+            RoomStay requested = new RoomStay(null, room.getId(),
+                    toStartOfDay(bookingDTO.getCheckInDate()), toStartOfDay(bookingDTO.getCheckOutDate()));
+
+            List<RoomStay> taken = takenByRoom.computeIfAbsent(room.getId(), id -> new ArrayList<>());
+            boolean overlaps = taken.stream().anyMatch(stay ->
+                    stay.getCheckInDate().isBefore(requested.getCheckOutDate()) && stay.getCheckOutDate().isAfter(requested.getCheckInDate()));
+            if (overlaps) {
+                results[index] = BatchBookingResult.rejected(index, "Room " + bookingDTO.getRoomNo() + " is not available for the selected dates.");
+                continue;
+            }
+            taken.add(requested);
+
+            // Repeat guests, including ones first seen earlier in this batch, share one row
+            String guestKey = guestKey(bookingDTO);
+            Guest guest = guestKey == null ? null : knownGuests.get(guestKey);
+            if (guest == null) {
+                guest = newGuest(bookingDTO);
+                guests.add(guest);
+                if (guestKey != null) {
+                    knownGuests.put(guestKey, guest);
+                }
+            } else {
+                refreshContact(guest, bookingDTO); // managed or saved below, so no save here
+            }
+            bookings.add(newBooking(bookingDTO, guest, room));
+            bookingIndexes.add(index);
+        }
+
+        guestRepository.saveAll(guests);
+        bookingRepository.saveAll(bookings);
+        dailyRoomStats.apply(Map.of(), dailyRoomStats.contributionOf(bookings));
+        outbox.recordAll(BookingEventType.CREATED, bookings);
+        for (int i = 0; i < bookings.size(); i++) {
+            results[bookingIndexes.get(i)] = BatchBookingResult.created(bookingIndexes.get(i), bookings.get(i).getId());
+        }
+    }
+
+    private String validateForBatch(BookingDTO bookingDTO) {
+        if (bookingDTO == null) {
+            return "Booking is required";
+        }
+        Validator validator = validatorProvider.getIfUnique();
+        if (validator != null) {
+            Set<ConstraintViolation<BookingDTO>> violations = validator.validate(bookingDTO);
+            if (!violations.isEmpty()) {
+                return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+            }
+        }
+        if (bookingDTO.getRoomNo() == null || bookingDTO.getNightlyRate() == null
+                || bookingDTO.getCheckInDate() == null || bookingDTO.getCheckOutDate() == null) {
+            return "Room number, nightly rate and stay dates are required";
+        }
+        if (!bookingDTO.getCheckOutDate().isAfter(bookingDTO.getCheckInDate())) {
+            return "Check-out date must be after check-in date";
+        }
+        return null;
+    }
+
+    // The guest these contact details belong to, with any newer name or email taken over; new if unknown
+    private Guest resolveGuest(BookingDTO bookingDTO) {
+        Optional<Guest> known = findGuest(bookingDTO);
+        if (known.isEmpty()) {
+            return guestRepository.save(newGuest(bookingDTO));
+        }
+        Guest guest = known.get();
+        if (refreshContact(guest, bookingDTO)) {
+            guestRepository.save(guest);
+        }
+        return guest;
+    }
+
+    // The same mobile (or email) is the same guest, so the latest booking's details win; blanks never overwrite
+    private static boolean refreshContact(Guest guest, BookingDTO bookingDTO) {
+        boolean changed = false;
+        if (hasText(bookingDTO.getFullName()) && !bookingDTO.getFullName().equals(guest.getFullName())) {
             guest.setFullName(bookingDTO.getFullName());
+            changed = true;
+        }
+        if (hasText(bookingDTO.getEmailId()) && !bookingDTO.getEmailId().equals(guest.getEmail())) {
             guest.setEmail(bookingDTO.getEmailId());
+            changed = true;
+        }
+        if (!hasText(guest.getMobileNumber()) && hasText(bookingDTO.getMobileNumber())) {
             guest.setMobileNumber(bookingDTO.getMobileNumber());
-            guest = guestRepository.save(guest);
-
-            Room room = roomRepository.findByRoomNumber(bookingDTO.getRoomNo())
-                    .orElseThrow(() -> new RuntimeException("Room not found"));
+            changed = true;
+        }
+        return changed;
+    }
 
-            Instant checkInDate = bookingDTO.getCheckInDate().atStartOfDay().toInstant(ZoneOffset.UTC);
-            Instant checkOutDate = bookingDTO.getCheckOutDate().atStartOfDay().toInstant(ZoneOffset.UTC);
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
 
-            List<Booking> overlappingBookings = bookingRepository.findOverlappingBookingsForRoom(room, checkInDate, checkOutDate);
+    private Optional<Guest> findGuest(BookingDTO bookingDTO) {
+        String mobile = Guest.normalizeMobile(bookingDTO.getMobileNumber());
+        if (mobile != null) {
+            return guestRepository.findFirstByNormalizedMobileOrderByIdAsc(mobile);
+        }
+        String email = Guest.normalizeEmail(bookingDTO.getEmailId());
+        return email == null ? Optional.empty() : guestRepository.findFirstByNormalizedEmailOrderByIdAsc(email);
+    }
 
-            if (!overlappingBookings.isEmpty()) {
-                throw new RuntimeException("Room " + bookingDTO.getRoomNo() + " is not available for the selected dates.");
+    // Batch form of findGuest, keyed by guestKey; at most two queries
+    private Map<String, Guest> findGuests(List<BookingDTO> bookingDTOs) {
+        Set<String> mobiles = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (BookingDTO bookingDTO : bookingDTOs) {
+            String mobile = Guest.normalizeMobile(bookingDTO.getMobileNumber());
+            String email = Guest.normalizeEmail(bookingDTO.getEmailId());
+            if (mobile != null) {
+                mobiles.add(mobile);
+            } else if (email != null) {
+                emails.add(email);
             }
+        }
+        Map<String, Guest> guests = new HashMap<>();
+        if (!mobiles.isEmpty()) {
+            guestRepository.findByNormalizedMobileInOrderByIdAsc(mobiles)
+                    .forEach(guest -> guests.putIfAbsent("m:" + guest.getNormalizedMobile(), guest));
+        }
+        if (!emails.isEmpty()) {
+            guestRepository.findByNormalizedEmailInOrderByIdAsc(emails)
+                    .forEach(guest -> guests.putIfAbsent("e:" + guest.getNormalizedEmail(), guest));
+        }
+        return guests;
+    }
 
-            Booking booking = new Booking();
-            booking.setGuest(guest);
-            booking.setRoom(room);
-            booking.setCheckInDate(checkInDate);
-            booking.setCheckOutDate(checkOutDate);
-            booking.setBookingSource(bookingDTO.getBookingSource());
-            booking.setInternalNotes(bookingDTO.getInternalNotes());
-            booking.setAmountPerNight(bookingDTO.getNightlyRate()); // Set amountPerNight
-            BigDecimal calculatedTotalAmount = bookingDTO.getNightlyRate().multiply(BigDecimal.valueOf(bookingDTO.getCheckOutDate().toEpochDay() - bookingDTO.getCheckInDate().toEpochDay()));
-            if (bookingDTO.getAdditionalCharges() != null && !bookingDTO.getAdditionalCharges().isEmpty()) {
-                calculatedTotalAmount = calculatedTotalAmount.add(bookingDTO.getAdditionalCharges().stream()
-                        .map(AdditionalPay::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add));
-            }
-            booking.setTotalAmount(calculatedTotalAmount);
-            booking.setStatus("CONFIRMED");
-            booking.setPayments(new java.util.ArrayList<>());
+    private static String guestKey(BookingDTO bookingDTO) {
+        String mobile = Guest.normalizeMobile(bookingDTO.getMobileNumber());
+        if (mobile != null) {
+            return "m:" + mobile;
+        }
+        String email = Guest.normalizeEmail(bookingDTO.getEmailId());
+        return email == null ? null : "e:" + email;
+    }
 
-            if (bookingDTO.getAdvanceAmount() != null && calculatedTotalAmount != null) {
-                Payment advancePayment = new Payment();
-                advancePayment.setAdvanceAmount(bookingDTO.getAdvanceAmount());
-                advancePayment.setMethodAdvanceAmountPaid(bookingDTO.getPaymentMethod());
-                advancePayment.setPendingAmount(calculatedTotalAmount.subtract(bookingDTO.getAdvanceAmount()));
-                advancePayment.setType("ADVANCE");
-                advancePayment.setBooking(booking);
-                booking.getPayments().add(advancePayment);
+    // The booking's contact details once the update's non-null fields are applied
+    private static BookingDTO contactAfterUpdate(Guest current, BookingDTO bookingDTO) {
+        BookingDTO contact = new BookingDTO();
+        contact.setFullName(bookingDTO.getFullName() != null ? bookingDTO.getFullName() : current.getFullName());
+        contact.setEmailId(bookingDTO.getEmailId() != null ? bookingDTO.getEmailId() : current.getEmail());
+        contact.setMobileNumber(bookingDTO.getMobileNumber() != null ? bookingDTO.getMobileNumber() : current.getMobileNumber());
+        return contact;
+    }
+
+    private static Guest newGuest(BookingDTO bookingDTO) {
+        Guest guest = new Guest();
+        guest.setFullName(bookingDTO.getFullName());
+        guest.setEmail(bookingDTO.getEmailId());
+        guest.setMobileNumber(bookingDTO.getMobileNumber());
+        return guest;
+    }
+
+    private static Booking newBooking(BookingDTO bookingDTO, Guest guest, Room room) {
+        Booking booking = new Booking();
+        booking.setGuest(guest);
+        booking.setRoom(room);
+        booking.setCheckInDate(toStartOfDay(bookingDTO.getCheckInDate()));
+        booking.setCheckOutDate(toStartOfDay(bookingDTO.getCheckOutDate()));
+        booking.setBookingSource(bookingDTO.getBookingSource());
+        booking.setInternalNotes(bookingDTO.getInternalNotes());
+        booking.setAmountPerNight(bookingDTO.getNightlyRate()); // Set amountPerNight
+        BigDecimal calculatedTotalAmount = calculateTotalAmount(bookingDTO);
+        booking.setTotalAmount(calculatedTotalAmount);
+        booking.setStatus("CONFIRMED");
+        booking.setPayments(new ArrayList<>());
+
+        if (bookingDTO.getAdvanceAmount() != null && calculatedTotalAmount != null) {
+            Payment advancePayment = new Payment();
+            advancePayment.setAdvanceAmount(bookingDTO.getAdvanceAmount());
+            advancePayment.setMethodAdvanceAmountPaid(bookingDTO.getPaymentMethod());
+            advancePayment.setPendingAmount(calculatedTotalAmount.subtract(bookingDTO.getAdvanceAmount()));
+            advancePayment.setType("ADVANCE");
+            advancePayment.setBooking(booking);
+            booking.getPayments().add(advancePayment);
+        }
+        setCharges(booking, bookingDTO.getAdditionalCharges());
+        return booking;
+    }
+
+    // Replaces the booking's additional charges; charges without an amount are dropped
+    private static void setCharges(Booking booking, List<AdditionalPay> additionalCharges) {
+        booking.getCharges().clear();
+        if (additionalCharges == null) {
+            return;
+        }
+        for (AdditionalPay charge : additionalCharges) {
+            if (charge != null && charge.getAmount() != null) {
+                booking.getCharges().add(new BookingCharge(booking, charge.getCategory(), charge.getAmount()));
             }
+        }
+    }
 
-            booking = bookingRepository.save(booking);
-            logger.info("Booking created successfully with ID: {}", booking.getId());
-            return booking;
-        } catch (Exception e) {
-            logger.error("Error creating booking", e);
-            throw e;
+    // Nightly rate times nights, plus any additional charges
+    static BigDecimal calculateTotalAmount(BookingDTO bookingDTO) {
+        BigDecimal calculatedTotalAmount = bookingDTO.getNightlyRate().multiply(BigDecimal.valueOf(bookingDTO.getCheckOutDate().toEpochDay() - bookingDTO.getCheckInDate().toEpochDay()));
+        return calculatedTotalAmount.add(sumCharges(bookingDTO.getAdditionalCharges()));
+    }
+
+    private static BigDecimal sumCharges(List<AdditionalPay> additionalCharges) {
+        if (additionalCharges == null || additionalCharges.isEmpty()) {
+            return BigDecimal.ZERO;
         }
+        return additionalCharges.stream()
+                .filter(charge -> charge != null && charge.getAmount() != null)
+                .map(AdditionalPay::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingResponseDTO> getAllBookingDetails() {
-        List<Booking> bookings = bookingRepository.findAll();
-        List<BookingResponseDTO> bookingResponseDTOs = new java.util.ArrayList<>();
-
-        for (Booking booking : bookings) {
-            BookingResponseDTO bookingResponseDTO = new BookingResponseDTO();
-            bookingResponseDTO.setId(booking.getId()); // Assuming Booking entity has a getId() for UUID
-            bookingResponseDTO.setGuest(booking.getGuest().getFullName());
-            bookingResponseDTO.setBookingSource(booking.getBookingSource());
-            bookingResponseDTO.setRoom(booking.getRoom().getRoomNumber());
-            bookingResponseDTO.setCheckInDate(booking.getCheckInDate());
-            bookingResponseDTO.setCheckOutDate(booking.getCheckOutDate());
-            bookingResponseDTO.setStatus(booking.getStatus());
-            bookingResponseDTO.setContactNumber(booking.getGuest().getMobileNumber());
+        return getBookingDetails(new BookingSearchRequest()).getBookings();
+    }
 
-            double totalPaid = booking.getPayments().stream()
-                    .mapToDouble(payment -> payment.getAdvanceAmount() != null ? payment.getAdvanceAmount().doubleValue() : 0.0)
-                    .sum();
+    @Transactional(readOnly = true)
+    public BookingPage getBookingDetails(BookingSearchRequest request) {
+        Instant afterCheckIn = null;
+        Long afterId = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            try {
+                String[] cursor = new String(Base64.getUrlDecoder().decode(request.getCursor()), StandardCharsets.UTF_8).split("\\|");
+                afterCheckIn = Instant.parse(cursor[0]);
+                afterId = Long.valueOf(cursor[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + request.getCursor(), e);
+            }
+        }
 
-            bookingResponseDTO.setTotalPaid(BigDecimal.valueOf(totalPaid));
-            BigDecimal pendingBalance = booking.getTotalAmount().subtract(BigDecimal.valueOf(totalPaid));
-            bookingResponseDTO.setBalance(pendingBalance);
-            bookingResponseDTOs.add(bookingResponseDTO);
+        Pageable pageable = request.getLimit() != null
+                ? PageRequest.of(0, Math.max(1, Math.min(request.getLimit(), MAX_PAGE_SIZE)))
+                : Pageable.unpaged();
+
+        List<BookingResponseDTO> bookings = bookingRepository.findBookingSummaries(
+                toStartOfDay(request.getFromDate()),
+                toStartOfDay(request.getToDate()),
+                request.getStatus(),
+                request.getRoomNo(),
+                afterCheckIn,
+                afterId,
+                pageable);
+
+        String nextCursor = null;
+        if (pageable.isPaged() && bookings.size() == pageable.getPageSize()) {
+            BookingResponseDTO last = bookings.get(bookings.size() - 1);
+            if (last.getCheckInDate() != null) {
+                nextCursor = encodeCursor(last.getCheckInDate(), last.getId());
+            }
         }
-        return bookingResponseDTOs;
+        return new BookingPage(bookings, nextCursor);
+    }
+
+    private static Instant toStartOfDay(LocalDate date) {
+        return date != null ? date.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
+    }
+
+    private static String encodeCursor(Instant checkInDate, Long id) {
+        String raw = checkInDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
+    @Transactional(readOnly = true)
     public BookingDTO getBookingDetailsById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        BookingDTO details = bookingRepository.findBookingDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
+        details.setAdditionalCharges(bookingChargeRepository.findChargesOfBooking(id));
+        return details;
+    }
 
-        BookingDTO bookingDTO = new BookingDTO();
-        bookingDTO.setFullName(booking.getGuest().getFullName());
-        bookingDTO.setEmailId(booking.getGuest().getEmail());
-        bookingDTO.setMobileNumber(booking.getGuest().getMobileNumber());
-        bookingDTO.setRoomNo(booking.getRoom().getRoomNumber());
-        bookingDTO.setCheckInDate(booking.getCheckInDate().atZone(ZoneOffset.UTC).toLocalDate());
-        bookingDTO.setCheckOutDate(booking.getCheckOutDate().atZone(ZoneOffset.UTC).toLocalDate());
-        bookingDTO.setBookingSource(booking.getBookingSource());
-        bookingDTO.setInternalNotes(booking.getInternalNotes());
-        bookingDTO.setNightlyRate(booking.getAmountPerNight());
-        bookingDTO.setTotalAmount(booking.getTotalAmount());
-
-        // Find advance amount and payment method from payments list
-        booking.getPayments().stream()
-                .filter(payment -> "ADVANCE".equals(payment.getType()))
-                .findFirst()
-                .ifPresent(payment -> {
-                    bookingDTO.setAdvanceAmount(payment.getAdvanceAmount());
-                    bookingDTO.setPaymentMethod(payment.getMethodAdvanceAmountPaid());
-                });
-
-        return bookingDTO;
-    }
-
-    @Transactional
+    /**
+     * Updates a booking under the locks of both its current room and, when moving, the new room.
+     */
     public BookingDTO updateBooking(Long bookingId, BookingDTO bookingDTO) {
+        Long currentRoomId = bookingRepository.findRoomIdByBookingId(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+        Set<Long> roomIds = new HashSet<>();
+        roomIds.add(currentRoomId);
+        if (bookingDTO.getRoomNo() != null) {
+            roomCatalog.findByRoomNumber(bookingDTO.getRoomNo()).ifPresent(room -> roomIds.add(room.getId()));
+        }
+        BookingDTO updated = roomLocks.withRoomLocks(roomIds,
+                () -> transactionTemplate.execute(status -> applyBookingUpdate(bookingId, bookingDTO, roomIds)));
+        readYourWrites.recordWrite();
+        return updated;
+    }
+
+    private BookingDTO applyBookingUpdate(Long bookingId, BookingDTO bookingDTO, Set<Long> lockedRoomIds) {
+        lockRooms(lockedRoomIds);
         Booking existingBooking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+        if (!lockedRoomIds.contains(existingBooking.getRoom().getId())) {
+            throw new RuntimeException("Booking " + bookingId + " was moved concurrently, please retry.");
+        }
+        Map<DailyRoomStat.Key, DailyRoomStat> statsBefore = dailyRoomStats.contributionOf(existingBooking);
 
-        // Update Guest details if provided in DTO
+        // New contact details may belong to another guest; only this booking is repointed
         if (bookingDTO.getFullName() != null || bookingDTO.getEmailId() != null || bookingDTO.getMobileNumber() != null) {
-            Guest guest = existingBooking.getGuest();
-            if (bookingDTO.getFullName() != null) guest.setFullName(bookingDTO.getFullName());
-            if (bookingDTO.getEmailId() != null) guest.setEmail(bookingDTO.getEmailId());
-            if (bookingDTO.getMobileNumber() != null) guest.setMobileNumber(bookingDTO.getMobileNumber());
-            guestRepository.save(guest);
+            Guest current = existingBooking.getGuest();
+            BookingDTO contact = contactAfterUpdate(current, bookingDTO);
+            if (guestKey(contact) == null) {
+                // Without a mobile or email a guest is never shared, so editing it touches no other booking
+                refreshContact(current, contact);
+            } else {
+                existingBooking.setGuest(resolveGuest(contact));
+            }
         }
 
         // Determine the proposed state of the booking
         Room proposedRoom = existingBooking.getRoom();
         if (bookingDTO.getRoomNo() != null && !bookingDTO.getRoomNo().equals(existingBooking.getRoom().getRoomNumber())) {
-            proposedRoom = roomRepository.findByRoomNumber(bookingDTO.getRoomNo())
+            proposedRoom = roomCatalog.findByRoomNumber(bookingDTO.getRoomNo())
                     .orElseThrow(() -> new RuntimeException("New room not found: " + bookingDTO.getRoomNo()));
+            if (!lockedRoomIds.contains(proposedRoom.getId())) {
+                throw new RuntimeException("Room " + bookingDTO.getRoomNo() + " changed concurrently, please retry.");
+            }
         }
 
         LocalDate proposedCheckInDate = existingBooking.getCheckInDate().atZone(ZoneOffset.UTC).toLocalDate();
@@ -206,12 +564,7 @@ public class BookingService {
                 throw new RuntimeException("Room is not available for the specified dates.");
             }
         }
-        BigDecimal calculatedTotalAmount = bookingDTO.getNightlyRate().multiply(BigDecimal.valueOf(bookingDTO.getCheckOutDate().toEpochDay() - bookingDTO.getCheckInDate().toEpochDay()));
-        if (bookingDTO.getAdditionalCharges() != null && !bookingDTO.getAdditionalCharges().isEmpty()) {
-            calculatedTotalAmount = calculatedTotalAmount.add(bookingDTO.getAdditionalCharges().stream()
-                    .map(AdditionalPay::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
-        }
+        BigDecimal calculatedTotalAmount = calculateTotalAmount(bookingDTO);
         existingBooking.setTotalAmount(calculatedTotalAmount);
 
         // Correctly handle payment updates
@@ -244,7 +597,7 @@ public class BookingService {
             oldRoom.setStatus("AVAILABLE");
             roomRepository.save(oldRoom);
             proposedRoom.setStatus("BOOKED");
-            roomRepository.save(proposedRoom);
+            proposedRoom = roomRepository.save(proposedRoom);
         }
         existingBooking.setRoom(proposedRoom);
         existingBooking.setCheckInDate(proposedCheckInDate.atStartOfDay().toInstant(ZoneOffset.UTC));
@@ -253,38 +606,91 @@ public class BookingService {
 
         if (bookingDTO.getBookingSource() != null) existingBooking.setBookingSource(bookingDTO.getBookingSource());
         if (bookingDTO.getInternalNotes() != null) existingBooking.setInternalNotes(bookingDTO.getInternalNotes());
-        // Recalculate total amount if nightly rate or dates change
-        if (bookingDTO.getNightlyRate() != null || bookingDTO.getCheckInDate() != null || bookingDTO.getCheckOutDate() != null) {
+        // Recalculate total amount if nightly rate, dates or charges change
+        if (bookingDTO.getNightlyRate() != null || bookingDTO.getCheckInDate() != null || bookingDTO.getCheckOutDate() != null
+                || bookingDTO.getAdditionalCharges() != null) {
             BigDecimal nightlyRate = bookingDTO.getNightlyRate() != null ? bookingDTO.getNightlyRate() : existingBooking.getAmountPerNight(); // Use existing amountPerNight if nightlyRate not provided in DTO
             long days = proposedCheckOutDate.toEpochDay() - proposedCheckInDate.toEpochDay();
-            existingBooking.setTotalAmount(nightlyRate.multiply(BigDecimal.valueOf(days)));
+            // Charges sent with the update replace the stored ones; otherwise the stored ones still count
+            BigDecimal charges;
+            if (bookingDTO.getAdditionalCharges() != null) {
+                setCharges(existingBooking, bookingDTO.getAdditionalCharges());
+                charges = sumCharges(bookingDTO.getAdditionalCharges());
+            } else {
+                charges = bookingChargeRepository.sumChargesOfBooking(existingBooking.getId());
+            }
+            existingBooking.setTotalAmount(nightlyRate.multiply(BigDecimal.valueOf(days)).add(charges));
             existingBooking.setAmountPerNight(nightlyRate); // Update amountPerNight as well
         }
+        existingBooking.updatePaymentTotals();
+        dailyRoomStats.apply(statsBefore, dailyRoomStats.contributionOf(existingBooking));
 
         existingBooking = bookingRepository.save(existingBooking);
+        outbox.record(BookingEventType.UPDATED, existingBooking);
 
         return getBookingDetailsById(existingBooking.getId()); // Return DTO of updated booking
     }
 
-    @Transactional
+    /**
+     * Deletes a booking under its room's lock, like creates and updates.
+     */
     public void deleteBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Long roomId = bookingRepository.findRoomIdByBookingId(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+        roomLocks.withRoomLocks(List.of(roomId), () -> transactionTemplate.execute(status -> {
+            applyBookingDeletion(bookingId, roomId);
+            return null;
+        }));
+        readYourWrites.recordWrite();
+    }
 
-        Guest guest = booking.getGuest(); // Get the associated guest
+    private void applyBookingDeletion(Long bookingId, Long lockedRoomId) {
+        // The room row lock keeps the rollup change from interleaving with a rebuild
+        lockRooms(List.of(lockedRoomId));
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + bookingId));
+        if (!lockedRoomId.equals(booking.getRoom().getId())) {
+            throw new RuntimeException("Booking " + bookingId + " was moved concurrently, please retry.");
+        }
+        dailyRoomStats.apply(dailyRoomStats.contributionOf(booking), Map.of());
+        outbox.record(BookingEventType.DELETED, booking);
         bookingRepository.delete(booking); // Delete the booking
+        changeFeed.recordDeletion(bookingId);
+        // The guest stays on file for their next booking
+    }
+
+    public List<RoomAvailabilityResponse> getRoomsAvailable(RoomAvailabilityRequest request) {
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+
+        // Empty or inverted ranges have no nights to test against the index.
+        if (!startDate.isBefore(endDate)) {
+            return findRoomsAvailableInDatabase(startDate, endDate);
+        }
 
-        // Check if the guest has any other bookings
-        if (guestRepository.countBookingsByGuestId(guest.getId()) == 0) {
-            guestRepository.delete(guest); // If no other bookings, delete the guest
+        // The index only gets bookings once they commit; a caller inside a transaction may have written
+        // some of its own, which the overlap query sees.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return findRoomsAvailableInDatabase(startDate, endDate);
         }
+        occupancyIndex.ensureReady(bookingRepository::findConfirmedRoomStays);
+
+        return filterAvailableRooms(roomCatalog.findAll(), occupancyIndex, startDate, endDate);
     }
 
-    public List<RoomAvailabilityResponse> getRoomsAvailable(RoomAvailabilityRequest request) {
-        Instant requestedCheckIn = request.getStartDate().atStartOfDay().toInstant(ZoneOffset.UTC);
-        Instant requestedCheckOut = request.getEndDate().atStartOfDay().toInstant(ZoneOffset.UTC);
+    static List<RoomAvailabilityResponse> filterAvailableRooms(List<Room> rooms, RoomOccupancyIndex occupancyIndex,
+                                                              LocalDate startDate, LocalDate endDate) {
+        return rooms.stream()
+                .filter(room -> occupancyIndex.isAvailable(room.getId(), startDate, endDate))
+                .map(RoomAvailabilityResponse::new) // Using the constructor for mapping
+                .collect(Collectors.toList());
+    }
 
-        List<Room> allRooms = roomRepository.findAll();
+    private List<RoomAvailabilityResponse> findRoomsAvailableInDatabase(LocalDate startDate, LocalDate endDate) {
+        Instant requestedCheckIn = startDate.atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant requestedCheckOut = endDate.atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        List<Room> allRooms = roomCatalog.findAll();
 
         Set<Long> bookedRoomIds = bookingRepository.findOverlappingBookings(requestedCheckIn, requestedCheckOut)
                 .stream()
@@ -293,14 +699,18 @@ public class BookingService {
 
         return allRooms.stream()
                 .filter(room -> !bookedRoomIds.contains(room.getId()))
-                .map(RoomAvailabilityResponse::new) // Using the constructor for mapping
+                .map(RoomAvailabilityResponse::new)
                 .collect(Collectors.toList());
     }
 
     public List<Room> getAllRoomsAvailable() {
-        List<Room> allRooms = roomRepository.findAll();
+        List<Room> allRooms = roomCatalog.findAll();
         return allRooms;
     }
+
+    public CacheStats getRoomCacheStats() {
+        return roomCatalog.getStats();
+    }
 }
 
 
@@ -0,0 +1,142 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.RoomStay;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Checks out CONFIRMED bookings whose check-out has passed and frees their BOOKED rooms.
+ *
+ * Runs on one instance at a time under the "checkout-sweep" lease. Work goes in chunks of
+ * expired bookings, one short transaction each, with two set-based UPDATEs per chunk: bookings
+ * to CHECKED_OUT, and rooms back to AVAILABLE unless another stay is under way in them. Swept
+ * bookings drop out of the query, so every chunk reads the first page again. The bulk updates
+ * bypass the entity listeners: the data version is bumped as each chunk commits, and this
+ * instance's occupancy index and room catalog are updated after the commit. Other instances see
+ * the bump and reload theirs through {@link RemoteChangeWatcher}.
+ */
+@Component
+public class CheckoutSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutSweeper.class);
+
+    static final String LEASE = "checkout-sweep";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private SchedulerLeases leases;
+
+    @Autowired
+    private RoomOccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RoomCatalogCache roomCatalog;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.checkout-sweep.chunk-size:200}")
+    private int chunkSize;
+
+    // Upper bound per run, so one run cannot hold the lease indefinitely; the rest waits for the next
+    @Value("${booking.checkout-sweep.max-chunks:50}")
+    private int maxChunks;
+
+    @Value("${booking.checkout-sweep.lease:PT5M}")
+    private Duration lease;
+
+    private final Timer runs;
+    private final Counter bookingsCheckedOut;
+    private final Counter roomsReleased;
+
+    public CheckoutSweeper(MeterRegistry meterRegistry) {
+        this.runs = Timer.builder("booking.checkout_sweep").description("Checkout sweep runs").register(meterRegistry);
+        this.bookingsCheckedOut = Counter.builder("booking.checkout_sweep.rows").tag("table", "bookings").register(meterRegistry);
+        this.roomsReleased = Counter.builder("booking.checkout_sweep.rows").tag("table", "rooms").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${booking.checkout-sweep.cron:0 */15 * * * *}")
+    public void sweep() {
+        if (!leases.tryAcquire(LEASE, lease)) {
+            logger.debug("Checkout sweep is running on another instance");
+            return;
+        }
+        try {
+            SweepResult result = sweepExpired(Instant.now());
+            if (result.chunks > 0) {
+                logger.info("Checkout sweep: {} bookings checked out, {} rooms released in {} chunks, {} ms",
+                        result.bookings, result.rooms, result.chunks, result.millis);
+            }
+        } finally {
+            leases.release(LEASE);
+        }
+    }
+
+    SweepResult sweepExpired(Instant now) {
+        long startedAt = System.nanoTime();
+        SweepResult result = new SweepResult();
+        while (result.chunks < maxChunks) {
+            List<RoomStay> expired = transactionTemplate.execute(status -> {
+                List<RoomStay> chunk = bookingRepository.findExpiredBookingsWithBookedRooms(now, PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    Set<Long> bookingIds = chunk.stream().map(RoomStay::getBookingId).collect(Collectors.toSet());
+                    Set<Long> roomIds = chunk.stream().map(RoomStay::getRoomId).collect(Collectors.toSet());
+                    result.bookings += bookingRepository.checkOut(bookingIds, now);
+                    result.rooms += roomRepository.releaseRooms(roomIds, now);
+                    // The bulk updates bypass the listeners; counted once the chunk commits
+                    dataVersion.bump();
+                }
+                return chunk;
+            });
+            if (expired == null || expired.isEmpty()) {
+                break;
+            }
+            result.chunks++;
+            expired.forEach(stay -> occupancyIndex.remove(stay.getBookingId()));
+            roomCatalog.invalidateAll();
+            if (!leases.tryAcquire(LEASE, lease)) {
+                logger.warn("Checkout sweep lost its lease after {} chunks, stopping", result.chunks);
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        result.millis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        runs.record(elapsed, TimeUnit.NANOSECONDS);
+        bookingsCheckedOut.increment(result.bookings);
+        roomsReleased.increment(result.rooms);
+        return result;
+    }
+
+    static final class SweepResult {
+        int chunks;
+        int bookings;
+        int rooms;
+        long millis;
+    }
+}
@@ -0,0 +1,164 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.DailyRoomStat;
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.StayRevenue;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.DailyRoomStatRepository;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the daily_room_stats rollup behind the occupancy reports.
+ *
+ * BookingService takes what a booking contributes to each day before and after a write and passes
+ * both here inside the write's transaction; only the difference is added, one upsert per affected
+ * day in date order, so writers touching the same days lock the rows in the same order. The
+ * nightly rebuild recomputes the table from bookings while holding every room lock, which also
+ * repairs anything the incremental path missed.
+ */
+@Service
+public class DailyRoomStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyRoomStatsService.class);
+
+    static final String UNKNOWN_SOURCE = "Unknown";
+
+    @Autowired
+    private DailyRoomStatRepository statRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomCatalogCache roomCatalog;
+
+    @Autowired
+    private RoomLockManager roomLocks;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Map<DailyRoomStat.Key, DailyRoomStat> contributionOf(Booking booking) {
+        return contributionOf(List.of(booking));
+    }
+
+    // Room-nights and revenue the bookings add to each day; cancelled bookings add nothing
+    public Map<DailyRoomStat.Key, DailyRoomStat> contributionOf(Collection<Booking> bookings) {
+        Map<DailyRoomStat.Key, DailyRoomStat> contribution = new TreeMap<>();
+        for (Booking booking : bookings) {
+            if (!"CANCELLED".equals(booking.getStatus())) {
+                addNights(contribution, booking.getBookingSource(), booking.getCheckInDate(), booking.getCheckOutDate(),
+                        booking.getAmountPerNight(), booking.getTotalAmount());
+            }
+        }
+        return contribution;
+    }
+
+    // Must run inside the transaction that changed the bookings
+    public void apply(Map<DailyRoomStat.Key, DailyRoomStat> before, Map<DailyRoomStat.Key, DailyRoomStat> after) {
+        TreeSet<DailyRoomStat.Key> days = new TreeSet<>(before.keySet());
+        days.addAll(after.keySet());
+        for (DailyRoomStat.Key day : days) {
+            DailyRoomStat previous = before.get(day);
+            DailyRoomStat current = after.get(day);
+            int roomsSold = roomsSold(current) - roomsSold(previous);
+            BigDecimal roomRevenue = roomRevenue(current).subtract(roomRevenue(previous));
+            if (roomsSold != 0 || roomRevenue.signum() != 0) {
+                statRepository.addToDay(day.getStatDate(), day.getBookingSource(), roomsSold, roomRevenue);
+            }
+        }
+    }
+
+    // Fills the table the first time an instance starts against existing bookings
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (statRepository.count() == 0 && bookingRepository.count() > 0) {
+            logger.info("daily_room_stats is empty, building it from bookings");
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${booking.stats.rebuild-cron:0 45 3 * * *}")
+    public void rebuild() {
+        List<Long> roomIds = roomCatalog.findAll().stream().map(Room::getId).toList();
+        Integer days = roomLocks.withRoomLocks(roomIds, () -> transactionTemplate.execute(status -> {
+            // Booking writes on other instances wait on the room rows until the rebuild commits
+            if (!roomIds.isEmpty()) {
+                roomRepository.lockRooms(roomIds);
+            }
+            statRepository.deleteAllStats();
+            Map<DailyRoomStat.Key, DailyRoomStat> totals = new TreeMap<>();
+            try (Stream<StayRevenue> stays = bookingRepository.streamSoldStays()) {
+                stays.forEach(stay -> addNights(totals, stay.getBookingSource(), stay.getCheckInDate(),
+                        stay.getCheckOutDate(), stay.getAmountPerNight(), stay.getTotalAmount()));
+            }
+            totals.values().forEach(entityManager::persist);
+            return totals.size();
+        }));
+        logger.info("Rebuilt daily_room_stats: {} rows", days);
+    }
+
+    // Nights follow the occupancy index: check-in floored to the day, check-out rounded up
+    static void addNights(Map<DailyRoomStat.Key, DailyRoomStat> totals, String bookingSource, Instant checkIn,
+                          Instant checkOut, BigDecimal amountPerNight, BigDecimal totalAmount) {
+        if (checkIn == null || checkOut == null) {
+            return;
+        }
+        LocalDate first = checkIn.atZone(ZoneOffset.UTC).toLocalDate();
+        LocalDate end = checkOut.atZone(ZoneOffset.UTC).toLocalDate();
+        if (end.atStartOfDay().toInstant(ZoneOffset.UTC).isBefore(checkOut)) {
+            end = end.plusDays(1);
+        }
+        long nights = end.toEpochDay() - first.toEpochDay();
+        if (nights <= 0) {
+            return;
+        }
+        BigDecimal nightlyRevenue = amountPerNight != null ? amountPerNight
+                : totalAmount != null ? totalAmount.divide(BigDecimal.valueOf(nights), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        String source = bookingSource == null || bookingSource.isBlank() ? UNKNOWN_SOURCE : bookingSource;
+        for (LocalDate night = first; night.isBefore(end); night = night.plusDays(1)) {
+            DailyRoomStat day = totals.computeIfAbsent(new DailyRoomStat.Key(night, source),
+                    key -> new DailyRoomStat(key.getStatDate(), key.getBookingSource(), 0, BigDecimal.ZERO));
+            day.setRoomsSold(day.getRoomsSold() + 1);
+            day.setRoomRevenue(day.getRoomRevenue().add(nightlyRevenue));
+        }
+    }
+
+    private static int roomsSold(DailyRoomStat day) {
+        return day != null ? day.getRoomsSold() : 0;
+    }
+
+    private static BigDecimal roomRevenue(DailyRoomStat day) {
+        return day != null ? day.getRoomRevenue() : BigDecimal.ZERO;
+    }
+}
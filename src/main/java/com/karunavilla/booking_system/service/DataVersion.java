@@ -0,0 +1,195 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.config.ReadYourWritesGuard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Counter of committed data changes, used to build ETags for the read endpoints.
+ *
+ * The counter is the single row of the data_version table, so every instance serves the same tag
+ * for the same data. {@link #bump()} does not touch the row inside the writing transaction; it
+ * increments it in a short transaction of its own once the write has committed, so writers never
+ * hold the row lock and a rollback never moves it. Entity writes bump through
+ * {@link DataVersionListener}; bulk JPQL updates bypass the listener and must call {@link #bump()}
+ * themselves.
+ *
+ * The same transaction stamps the rows the change feed follows: whatever was written with a NULL
+ * change_version gets the new version. Bumps queue on the row lock and commit in turn, so stamps
+ * become visible in version order, and a reader that sees a version sees every stamp up to it.
+ * Rows left unstamped by a lost bump are stamped by the next one.
+ *
+ * Requests are answered from the last version this instance knows, without a database round trip.
+ * Local commits move it as they bump and start the read-your-writes window, so the data served
+ * under the new tag comes from the primary. Other writers' bumps arrive through
+ * {@link RemoteChangeWatcher}, which refreshes it on every poll. Because the tag moves only after
+ * the rows are visible, it is never newer than what it describes; a bump lost to a crash between
+ * the commit and the increment leaves the tag behind until the next write.
+ */
+@Component
+public class DataVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataVersion.class);
+
+    private static final String READ = "SELECT version, modified_at FROM data_version WHERE id = 1";
+
+    // Last-Modified only has second precision: every bump must move it to a later second,
+    // or a client holding a copy from earlier in the same second would get a 304
+    private static final String BUMP = "UPDATE data_version SET version = version + 1, modified_at = GREATEST(?, modified_at + 1) WHERE id = 1";
+
+    // Rows written since the last bump carry a NULL change_version; the change feed reads these stamps
+    private static final List<String> STAMPS = List.of(
+            "UPDATE bookings SET change_version = ? WHERE change_version IS NULL",
+            "UPDATE guests SET change_version = ? WHERE change_version IS NULL",
+            "UPDATE payments SET change_version = ? WHERE change_version IS NULL",
+            "UPDATE booking_tombstones SET change_version = ? WHERE change_version IS NULL");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadYourWritesGuard readYourWrites;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Versions this instance's commits produced; lets RemoteChangeWatcher tell other writers' changes from ours
+    private final NavigableSet<Long> localVersions = new ConcurrentSkipListSet<>();
+
+    private final AtomicReference<Snapshot> latest = new AtomicReference<>();
+
+    // Set when a committed write could not be counted; the next poll retries
+    private final AtomicBoolean bumpPending = new AtomicBoolean();
+
+    // The version requests are answered with; loaded once, then moved by bumps and polls
+    public Snapshot snapshot() {
+        Snapshot snapshot = latest.get();
+        return snapshot != null ? snapshot : advance(load());
+    }
+
+    public long current() {
+        return snapshot().getVersion();
+    }
+
+    /**
+     * Reads the shared row and moves the in-memory version up to it. A read-only service
+     * transaction, so with routing on it reads the replica: a lagging replica gives an older
+     * version, never one newer than the data it serves.
+     */
+    @Transactional(readOnly = true)
+    public Snapshot refresh() {
+        return advance(load());
+    }
+
+    // The shared row as the calling transaction sees it, with every stamp up to it visible
+    public long readShared() {
+        return load().getVersion();
+    }
+
+    // How many of the versions in (after, upTo] this instance committed, forgetting those and any older
+    public int takeLocalCommits(long after, long upTo) {
+        NavigableSet<Long> committed = localVersions.subSet(after, false, upTo, true);
+        int count = committed.size();
+        localVersions.headSet(upTo, true).clear();
+        return count;
+    }
+
+    // Once per transaction, however many rows it writes, after it commits; without a transaction at once
+    public void bump() {
+        // Data served under the moved tag must come from the primary until the replica has it
+        readYourWrites.recordWrite();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DataVersion.this);
+            }
+        });
+    }
+
+    // Retries a bump that failed after its commit
+    public void retryPendingBump() {
+        if (bumpPending.compareAndSet(true, false)) {
+            increment();
+        }
+    }
+
+    private void increment() {
+        // Called from afterCommit, where the writer's finished transaction is still bound
+        TransactionTemplate bumpTransaction = new TransactionTemplate(transactionManager);
+        bumpTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            // The row lock is held only for this transaction; the version read back is ours alone
+            Snapshot bumped = bumpTransaction.execute(status -> {
+                jdbcTemplate.update(BUMP, Instant.now().getEpochSecond());
+                Snapshot version = load();
+                STAMPS.forEach(stamp -> jdbcTemplate.update(stamp, version.getVersion()));
+                return version;
+            });
+            localVersions.add(bumped.getVersion());
+            advance(bumped);
+        } catch (RuntimeException e) {
+            bumpPending.set(true);
+            logger.warn("Could not bump the data version after a commit; retrying on the next poll", e);
+        }
+    }
+
+    private Snapshot load() {
+        return jdbcTemplate.queryForObject(READ, (rs, rowNum) -> new Snapshot(rs.getLong("version"), rs.getLong("modified_at")));
+    }
+
+    private Snapshot advance(Snapshot candidate) {
+        return latest.accumulateAndGet(candidate,
+                (current, next) -> current == null || next.getVersion() > current.getVersion() ? next : current);
+    }
+
+    public static final class Snapshot {
+        private final long version;
+        private final long modifiedSecond;
+
+        Snapshot(long version, long modifiedSecond) {
+            this.version = version;
+            this.modifiedSecond = modifiedSecond;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+
+        public Instant getLastModified() {
+            return Instant.ofEpochSecond(modifiedSecond);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.ChangeTracked;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bumps {@link DataVersion} when a transaction writes any listened entity.
+ *
+ * The callbacks run as the writes are flushed; the bump itself waits for the commit, so a rollback
+ * never moves the version. Updates also clear the change feed's stamp on the row, which the bump
+ * then sets again.
+ */
+@Component
+public class DataVersionListener {
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    // New rows start out NULL; an update clears the stamp so the row is stamped again after its commit
+    @PreUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof ChangeTracked tracked) {
+            tracked.setChangeVersion(null);
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        dataVersion.bump();
+    }
+}
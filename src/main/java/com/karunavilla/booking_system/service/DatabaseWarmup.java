@@ -0,0 +1,183 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.BookingSearchRequest;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gets the database side of the first requests out of the way before they arrive, and keeps it
+ * that way through quiet hours.
+ *
+ * At startup every connection pool (primary and replica when routing is on) has one connection
+ * borrowed and validated, and then gets time to open the rest of its minimum idle connections in
+ * the background; warmup never holds more than that one connection, so requests arriving meanwhile
+ * are not starved. Then the queries behind /allBooking and /saveBooking run a few times, so their
+ * statements are prepared and the code paths are compiled. Readiness only flips once
+ * ApplicationReadyEvent listeners return, so traffic routed on the readiness probe waits for this.
+ *
+ * Idle connections are kept alive and replaced by Hikari itself (keepaliveTime). The keepalive
+ * here only runs the queries again on a fixed delay, so their plans and code stay warm. Cold
+ * request latency is recorded by {@code ColdRequestInterceptor}.
+ */
+@Component
+public class DatabaseWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseWarmup.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private static final long FILL_POLL_MILLIS = 50;
+
+    @Autowired
+    private ListableBeanFactory beanFactory;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomCatalogCache roomCatalog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${booking.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.warmup.iterations:5}")
+    private int iterations;
+
+    // How long startup waits for the pools to open their minimum idle connections
+    @Value("${booking.warmup.fill-timeout:PT10S}")
+    private Duration fillTimeout;
+
+    private final Timer startupTimer;
+    private final Timer keepaliveTimer;
+
+    public DatabaseWarmup(MeterRegistry meterRegistry) {
+        this.startupTimer = Timer.builder("booking.warmup").tag("phase", "startup").register(meterRegistry);
+        this.keepaliveTimer = Timer.builder("booking.warmup").tag("phase", "keepalive").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        int connections = fillPools();
+        runQueries(iterations);
+        long elapsed = System.nanoTime() - startedAt;
+        startupTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("Warmup opened {} connections and ran the booking queries {} times in {} ms",
+                connections, iterations, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @Scheduled(fixedDelayString = "${booking.warmup.keepalive-interval:PT4M}",
+               initialDelayString = "${booking.warmup.keepalive-interval:PT4M}")
+    public void keepAlive() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        runQueries(1);
+        long elapsed = System.nanoTime() - startedAt;
+        keepaliveTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        logger.debug("Keepalive ran the booking queries in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private int fillPools() {
+        int connections = 0;
+        for (Map.Entry<String, HikariDataSource> entry : beanFactory.getBeansOfType(HikariDataSource.class).entrySet()) {
+            try {
+                connections += fill(entry.getValue());
+            } catch (SQLException e) {
+                logger.warn("Could not warm connection pool {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        return connections;
+    }
+
+    // Validates one connection, then waits for Hikari's own background fill to reach minimumIdle
+    private int fill(HikariDataSource pool) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                logger.warn("A connection in pool {} failed validation", pool.getPoolName());
+            }
+        }
+        HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+        if (stats == null) {
+            return 1;
+        }
+        int target = Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize());
+        long deadline = System.nanoTime() + fillTimeout.toNanos();
+        try {
+            while (stats.getTotalConnections() < target && System.nanoTime() < deadline) {
+                Thread.sleep(FILL_POLL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (stats.getTotalConnections() < target) {
+            logger.warn("Pool {} opened {} of {} connections within {}", pool.getPoolName(),
+                    stats.getTotalConnections(), target, fillTimeout);
+        }
+        return stats.getTotalConnections();
+    }
+
+    // The reads /allBooking and /saveBooking issue. getBookingDetails is a read-only service transaction,
+    // so with routing on it warms the replica; the unnamed transaction below routes to the primary, which
+    // is where /saveBooking runs its overlap checks.
+    private void runQueries(int times) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Instant checkIn = today.atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant checkOut = checkIn.plus(1, ChronoUnit.DAYS);
+        BookingSearchRequest page = new BookingSearchRequest();
+        page.setFromDate(today);
+        page.setLimit(20);
+        try {
+            for (int i = 0; i < times; i++) {
+                List<Room> rooms = roomCatalog.findAll();
+                bookingService.getBookingDetails(page);
+                readOnly.executeWithoutResult(status -> {
+                    bookingRepository.findOverlappingBookings(checkIn, checkOut);
+                    if (!rooms.isEmpty()) {
+                        bookingRepository.findOverlappingBookingsForRoom(rooms.get(0), checkIn, checkOut);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Warmup queries failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Guest;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.GuestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Folds guests that share a normalized mobile number (or, for guests without one, a normalized
+ * email) into the oldest of them, the same row createBooking resolves that key to.
+ *
+ * Works in batches, one transaction each: the duplicates' bookings are moved over with a single
+ * bulk update, blank name or email on the survivor are filled from the duplicates, and the
+ * duplicates are deleted. Rows from before the normalized columns existed get their keys first.
+ */
+@Service
+public class GuestMergeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestMergeService.class);
+
+    private static final int BATCH_SIZE = 200;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private GuestSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Cheap once done; keeps repeat guests from before the upgrade findable ahead of the first merge
+    @EventListener(ApplicationReadyEvent.class)
+    public void normalizeOnStartup() {
+        normalizeExistingGuests();
+    }
+
+    @Scheduled(cron = "${booking.guests.merge-cron:0 30 3 * * *}")
+    public void mergeDuplicateGuests() {
+        normalizeExistingGuests();
+        int merged = mergeBy(guestRepository::findSharedMobiles, guestRepository::findByNormalizedMobileInOrderByIdAsc,
+                Guest::getNormalizedMobile);
+        merged += mergeBy(guestRepository::findSharedEmailsWithoutMobile, guestRepository::findWithoutMobileByNormalizedEmailIn,
+                Guest::getNormalizedEmail);
+        if (merged > 0) {
+            logger.info("Merged {} duplicate guests", merged);
+        }
+    }
+
+    public int normalizeExistingGuests() {
+        int normalized = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Guest> batch = transactionTemplate.execute(status -> {
+                List<Guest> guests = guestRepository.findUnnormalizedAfter(from, PageRequest.of(0, BATCH_SIZE));
+                guests.forEach(Guest::normalizeContact);
+                return guests;
+            });
+            if (batch.isEmpty()) {
+                break;
+            }
+            normalized += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        if (normalized > 0) {
+            logger.info("Filled contact keys on {} guests", normalized);
+        }
+        return normalized;
+    }
+
+    private int mergeBy(Function<PageRequest, List<String>> sharedKeys, Function<List<String>, List<Guest>> guestsWithKeys,
+                        Function<Guest, String> keyOf) {
+        int merged = 0;
+        while (true) {
+            // Merged keys drop out of the query, so the first page is always the next batch
+            List<Guest> removed = transactionTemplate.execute(status -> {
+                List<String> keys = sharedKeys.apply(PageRequest.of(0, BATCH_SIZE));
+                if (keys.isEmpty()) {
+                    return List.<Guest>of();
+                }
+                Map<String, List<Guest>> groups = new LinkedHashMap<>();
+                for (Guest guest : guestsWithKeys.apply(keys)) {
+                    groups.computeIfAbsent(keyOf.apply(guest), key -> new ArrayList<>()).add(guest);
+                }
+                List<Guest> deleted = new ArrayList<>();
+                Instant now = Instant.now();
+                for (List<Guest> group : groups.values()) {
+                    deleted.addAll(merge(group, now));
+                }
+                if (!deleted.isEmpty()) {
+                    // The bulk updates bypassed the entity listeners; counted once the batch commits
+                    dataVersion.bump();
+                }
+                return deleted;
+            });
+            if (removed == null || removed.isEmpty()) {
+                break;
+            }
+            merged += removed.size();
+            // The bulk delete bypassed the entity listeners
+            removed.forEach(guest -> searchIndex.remove(guest.getId()));
+        }
+        return merged;
+    }
+
+    // The group is in id order; the first guest survives
+    private List<Guest> merge(List<Guest> group, Instant now) {
+        if (group.size() < 2) {
+            return List.of();
+        }
+        Guest survivor = group.get(0);
+        List<Guest> duplicates = group.subList(1, group.size());
+        for (Guest duplicate : duplicates) {
+            if (survivor.getFullName() == null) survivor.setFullName(duplicate.getFullName());
+            if (survivor.getEmail() == null) survivor.setEmail(duplicate.getEmail());
+            if (survivor.getMobileNumber() == null) survivor.setMobileNumber(duplicate.getMobileNumber());
+        }
+        bookingRepository.reassignGuest(survivor, duplicates, now);
+        guestRepository.deleteAllInBatch(duplicates);
+        return duplicates;
+    }
+}
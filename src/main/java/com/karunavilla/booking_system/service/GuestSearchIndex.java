@@ -0,0 +1,296 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Guest;
+import com.karunavilla.booking_system.model.GuestContact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory prefix index over guest names, mobile numbers and emails for front desk autocomplete.
+ *
+ * Every guest contributes a handful of terms: each word of the name, the mobile number with and
+ * without its country code, and the email. The terms sit in one sorted set of (term, guest id)
+ * postings, so the guests whose terms start with a prefix are a contiguous range found by a
+ * single seek. A query of several words seeks on its longest word and keeps the guests that also
+ * have a term starting with each of the others.
+ *
+ * Loaded at startup and kept current by {@link GuestSearchListener}, the same way the occupancy
+ * index is: committed writes are applied under a lock and searches never lock.
+ * Writes from other instances invalidate it through {@link RemoteChangeWatcher}.
+ */
+@Component
+public class GuestSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestSearchIndex.class);
+
+    // Guests looked at per search; a one-letter prefix can match most of the table
+    private static final int MAX_CANDIDATES = 2_000;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile NavigableSet<Posting> postings = new ConcurrentSkipListSet<>();
+    private volatile Map<Long, GuestContact> guests = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return guests.size();
+    }
+
+    /**
+     * Guests matching every word of the query as a prefix, best first: guests with more words
+     * matching a term exactly rank higher, then newer guests.
+     */
+    public List<GuestContact> search(String query, int limit) {
+        List<String> words = queryTerms(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String seek = words.stream().max(Comparator.comparingInt(String::length)).get();
+        Set<Long> candidates = candidates(seek);
+
+        List<Match> matches = new ArrayList<>();
+        for (Long guestId : candidates) {
+            GuestContact guest = guests.get(guestId);
+            if (guest == null) {
+                continue;
+            }
+            Set<String> terms = termsOf(guest);
+            int exact = 0;
+            boolean all = true;
+            for (String word : words) {
+                if (terms.contains(word)) {
+                    exact++;
+                } else if (terms.stream().noneMatch(term -> term.startsWith(word))) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                matches.add(new Match(guest, exact));
+            }
+        }
+        matches.sort(Comparator.comparingInt((Match match) -> match.exact).reversed()
+                .thenComparing(match -> match.guest.getGuestId(), Comparator.reverseOrder()));
+        return matches.stream().limit(limit).map(match -> match.guest).toList();
+    }
+
+    /**
+     * Up to {@link #MAX_CANDIDATES} guests with a term starting with the prefix, picked the way
+     * results rank: guests with the prefix as a whole term first, then the newest of the rest.
+     */
+    private Set<Long> candidates(String prefix) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        // Postings of one term are in id order, so walking them backwards is newest first
+        for (Posting posting : postings.subSet(new Posting(prefix, Long.MIN_VALUE), true, new Posting(prefix, Long.MAX_VALUE), true).descendingSet()) {
+            candidates.add(posting.guestId);
+            if (candidates.size() >= MAX_CANDIDATES) {
+                return candidates;
+            }
+        }
+        // Longer terms interleave their id runs, so keep the highest ids seen in a bounded min-heap
+        int room = MAX_CANDIDATES - candidates.size();
+        PriorityQueue<Long> newest = new PriorityQueue<>(room);
+        Set<Long> inHeap = new HashSet<>();
+        for (Posting posting : postings.subSet(new Posting(prefix, Long.MAX_VALUE), false, new Posting(prefix + Character.MAX_VALUE, Long.MIN_VALUE), false)) {
+            if (candidates.contains(posting.guestId) || inHeap.contains(posting.guestId)) {
+                continue;
+            }
+            if (newest.size() < room) {
+                newest.add(posting.guestId);
+                inHeap.add(posting.guestId);
+            } else if (posting.guestId > newest.peek()) {
+                inHeap.remove(newest.poll());
+                newest.add(posting.guestId);
+                inHeap.add(posting.guestId);
+            }
+        }
+        List<Long> rest = new ArrayList<>(newest);
+        rest.sort(Comparator.reverseOrder());
+        candidates.addAll(rest);
+        return candidates;
+    }
+
+    public void put(GuestContact guest) {
+        writeLock.lock();
+        try {
+            removeLocked(guest.getGuestId());
+            for (String term : termsOf(guest)) {
+                postings.add(new Posting(term, guest.getGuestId()));
+            }
+            guests.put(guest.getGuestId(), guest);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long guestId) {
+        writeLock.lock();
+        try {
+            removeLocked(guestId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the index stale; the next {@link #ensureReady} reloads it. Any rebuild already in
+     * flight will not mark itself ready.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        ready = false;
+    }
+
+    public void ensureReady(Supplier<List<GuestContact>> loader) {
+        if (ready) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (!ready) {
+                rebuildLocked(loader);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void rebuild(Supplier<List<GuestContact>> loader) {
+        writeLock.lock();
+        try {
+            rebuildLocked(loader);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rebuildLocked(Supplier<List<GuestContact>> loader) {
+        long startGeneration = generation.get();
+        List<GuestContact> loaded = loader.get();
+
+        List<Posting> sorted = new ArrayList<>(loaded.size() * 4);
+        Map<Long, GuestContact> rebuiltGuests = new ConcurrentHashMap<>(loaded.size() * 2);
+        for (GuestContact guest : loaded) {
+            for (String term : termsOf(guest)) {
+                sorted.add(new Posting(term, guest.getGuestId()));
+            }
+            rebuiltGuests.put(guest.getGuestId(), guest);
+        }
+        sorted.sort(null);
+        postings = new ConcurrentSkipListSet<>(sorted);
+        guests = rebuiltGuests;
+        ready = generation.get() == startGeneration;
+        logger.info("Guest search index loaded with {} guests and {} terms", rebuiltGuests.size(), sorted.size());
+    }
+
+    private void removeLocked(Long guestId) {
+        GuestContact previous = guests.remove(guestId);
+        if (previous != null) {
+            for (String term : termsOf(previous)) {
+                postings.remove(new Posting(term, guestId));
+            }
+        }
+    }
+
+    static Set<String> termsOf(GuestContact guest) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (guest.getFullName() != null) {
+            for (String word : guest.getFullName().toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+        String mobile = Guest.normalizeMobile(guest.getMobileNumber());
+        if (mobile != null) {
+            terms.add(mobile);
+            // Staff type the local number, not the country code
+            if (mobile.length() > 10) {
+                terms.add(mobile.substring(mobile.length() - 10));
+            }
+        }
+        String email = Guest.normalizeEmail(guest.getEmail());
+        if (email != null) {
+            terms.add(email);
+        }
+        return terms;
+    }
+
+    // A query that looks like a phone number is one term, however it is spaced or punctuated
+    static List<String> queryTerms(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String trimmed = query.trim();
+        if (trimmed.matches("[+0-9 ()\\-]+")) {
+            String digits = trimmed.replaceAll("[^0-9]", "");
+            return digits.isEmpty() ? List.of() : List.of(digits);
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : trimmed.toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static final class Posting implements Comparable<Posting> {
+        final String term;
+        final long guestId;
+
+        Posting(String term, long guestId) {
+            this.term = term;
+            this.guestId = guestId;
+        }
+
+        @Override
+        public int compareTo(Posting other) {
+            int byTerm = term.compareTo(other.term);
+            return byTerm != 0 ? byTerm : Long.compare(guestId, other.guestId);
+        }
+
+        // Consistent with compareTo, which is what the sorted set relies on
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Posting posting && guestId == posting.guestId && term.equals(posting.term);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * term.hashCode() + Long.hashCode(guestId);
+        }
+    }
+
+    private static final class Match {
+        final GuestContact guest;
+        final int exact;
+
+        Match(GuestContact guest, int exact) {
+            this.guest = guest;
+            this.exact = exact;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Guest;
+import com.karunavilla.booking_system.model.GuestContact;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link GuestSearchIndex} in step with every guest write, whichever code path issues it.
+ * Same scheme as {@link RoomOccupancyListener}: applied once the writing transaction commits,
+ * and left untouched on rollback.
+ */
+@Component
+public class GuestSearchListener {
+
+    @Autowired
+    private GuestSearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Guest guest) {
+        GuestContact contact = new GuestContact(guest.getId(), guest.getFullName(), guest.getMobileNumber(), guest.getEmail());
+        applyAfterCommit(() -> searchIndex.put(contact));
+    }
+
+    @PostRemove
+    public void onRemove(Guest guest) {
+        Long guestId = guest.getId();
+        applyAfterCommit(() -> searchIndex.remove(guestId));
+    }
+
+    private void applyAfterCommit(Runnable apply) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+}
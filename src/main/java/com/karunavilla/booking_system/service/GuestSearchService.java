@@ -0,0 +1,76 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import com.karunavilla.booking_system.model.GuestContact;
+import com.karunavilla.booking_system.model.GuestLatestBooking;
+import com.karunavilla.booking_system.model.GuestSearchResult;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.GuestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Guest autocomplete for the front desk. Matching runs entirely on {@link GuestSearchIndex}; only
+ * the latest booking of the top matches is read from the database, two indexed queries for at
+ * most {@link #MAX_LIMIT} guests.
+ */
+@Service
+public class GuestSearchService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private GuestSearchIndex searchIndex;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSearchIndex() {
+        searchIndex.rebuild(guestRepository::findAllContacts);
+    }
+
+    // Not a read-only service transaction: that would route the index load to a replica, which may be
+    // behind and leave the index missing guests until it is next rebuilt. Same as getRoomsAvailable.
+    public List<GuestSearchResult> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("'q' is required");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_LIMIT);
+        }
+        // Committed guests only: the index gets a transaction's guests once it commits
+        searchIndex.ensureReady(guestRepository::findAllContacts);
+        List<GuestContact> guests = searchIndex.search(query, size);
+        if (guests.isEmpty()) {
+            return List.of();
+        }
+
+        // Of two stays starting the same day, the later booking counts as the latest
+        Map<Long, Long> latestBookingByGuest = new HashMap<>();
+        for (GuestLatestBooking latest : bookingRepository.findLatestBookingsOfGuests(guests.stream().map(GuestContact::getGuestId).toList())) {
+            latestBookingByGuest.merge(latest.getGuestId(), latest.getBookingId(), Math::max);
+        }
+        Map<Long, BookingResponseDTO> bookings = new HashMap<>();
+        if (!latestBookingByGuest.isEmpty()) {
+            bookingRepository.findBookingSummariesByIds(latestBookingByGuest.values())
+                    .forEach(booking -> bookings.put(booking.getId(), booking));
+        }
+
+        return guests.stream()
+                .map(guest -> new GuestSearchResult(guest.getGuestId(), guest.getFullName(), guest.getMobileNumber(),
+                        guest.getEmail(), bookings.get(latestBookingByGuest.get(guest.getGuestId()))))
+                .toList();
+    }
+}
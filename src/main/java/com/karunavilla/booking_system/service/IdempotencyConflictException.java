@@ -0,0 +1,9 @@
+package com.karunavilla.booking_system.service;
+
+// Another instance is still running the request that first used this Idempotency-Key
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
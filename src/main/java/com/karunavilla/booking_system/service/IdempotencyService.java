@@ -0,0 +1,243 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.IdempotencyRecord;
+import com.karunavilla.booking_system.model.IdempotentResponse;
+import com.karunavilla.booking_system.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and hands retries the first response.
+ *
+ * Lookups go through three layers. Completed responses stay in a bounded LRU map, so a quick
+ * retry costs no database work. A retry that arrives while the first attempt is still running on
+ * this instance waits on that attempt's future instead of starting its own. Across instances and
+ * restarts, the idempotency_keys table decides: the first request claims the key with an insert,
+ * a duplicate that finds it PENDING gets a conflict, and one that finds it COMPLETED gets the
+ * stored response. The action runs in the transaction that stores its response, so a key is
+ * only ever COMPLETED together with the writes it stands for. Failed requests release the key so
+ * the client can retry them. A key left PENDING longer than the processing timeout, by an
+ * instance that died mid-request and so committed nothing, is taken over by the next request
+ * that uses it.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.idempotency.retention:PT24H}")
+    private Duration retention;
+
+    // Longer than any request takes; a PENDING key older than this is treated as abandoned
+    @Value("${booking.idempotency.processing-timeout:PT5M}")
+    private Duration processingTimeout;
+
+    private final int cacheSize;
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final LinkedHashMap<String, Completed> completed;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(@Value("${booking.idempotency.cache-size:10000}") int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.completed = new LinkedHashMap<>(256, 0.75f, true);
+    }
+
+    /**
+     * Returns the response for this key, running the action only if no earlier request with the
+     * key succeeded. The scope keeps keys of different endpoints apart.
+     */
+    public IdempotentResponse execute(String scope, String key, Object request, Supplier<IdempotentResponse> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = scope + ":" + key;
+        String requestHash = hash(request);
+
+        Completed cached = cached(id);
+        if (cached != null) {
+            return replay(cached.requestHash, requestHash, cached.response);
+        }
+
+        InFlight mine = new InFlight(requestHash);
+        InFlight running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return replay(running.requestHash, requestHash, await(running.result));
+        }
+        try {
+            IdempotentResponse response = executeOnce(id, requestHash, action);
+            mine.result.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    private IdempotentResponse executeOnce(String id, String requestHash, Supplier<IdempotentResponse> action) {
+        // Stored as TIMESTAMP(6), and compared again on complete and release
+        Instant claimedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Integer claimed = transactionTemplate.execute(status -> {
+            int inserted = recordRepository.claim(id, requestHash, claimedAt);
+            return inserted > 0 ? inserted : recordRepository.reclaimStale(id, requestHash, claimedAt, claimedAt.minus(processingTimeout));
+        });
+        if (claimed == null || claimed == 0) {
+            IdempotencyRecord existing = recordRepository.findById(id)
+                    .orElseThrow(() -> new IdempotencyConflictException("Idempotency-Key is being released, retry the request"));
+            if (!IdempotencyRecord.COMPLETED.equals(existing.getStatus())) {
+                if (!existing.getRequestHash().equals(requestHash)) {
+                    throw new InvalidIdempotencyKeyException("Idempotency-Key was already used for a different request");
+                }
+                throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+            }
+            IdempotentResponse stored = IdempotentResponse.of(existing.getResponseStatus(), existing.getContentType(), existing.getResponseBody());
+            remember(id, existing.getRequestHash(), stored, existing.getCreatedAt());
+            return replay(existing.getRequestHash(), requestHash, stored);
+        }
+
+        IdempotentResponse response;
+        try {
+            // The action's transactions join this one, so its writes and the stored response commit
+            // together: a crash cannot leave the key PENDING behind a booking that was made
+            response = transactionTemplate.execute(status -> {
+                IdempotentResponse result = action.get();
+                int completed = recordRepository.complete(id, claimedAt, result.getStatus(), result.getContentType(), result.getBody());
+                if (completed == 0) {
+                    throw new IdempotencyConflictException("Idempotency-Key was taken over by another request");
+                }
+                return result;
+            });
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> recordRepository.release(id, claimedAt));
+            throw e;
+        }
+        remember(id, requestHash, response, Instant.now());
+        return response;
+    }
+
+    private static IdempotentResponse replay(String originalHash, String requestHash, IdempotentResponse response) {
+        if (!originalHash.equals(requestHash)) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key was already used for a different request");
+        }
+        return response.asReplay();
+    }
+
+    private static IdempotentResponse await(CompletableFuture<IdempotentResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Completed cached(String id) {
+        cacheLock.lock();
+        try {
+            Completed entry = completed.get(id);
+            if (entry != null && entry.createdAt.isBefore(Instant.now().minus(retention))) {
+                completed.remove(id);
+                return null;
+            }
+            return entry;
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void remember(String id, String requestHash, IdempotentResponse response, Instant createdAt) {
+        cacheLock.lock();
+        try {
+            completed.put(id, new Completed(requestHash, response, createdAt));
+            if (completed.size() > cacheSize) {
+                completed.remove(completed.keySet().iterator().next());
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    // Drops the in-memory layer, as a restart would
+    void clearCache() {
+        cacheLock.lock();
+        try {
+            completed.clear();
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${booking.idempotency.purge-cron:0 10 * * * *}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int purged = recordRepository.deleteOlderThan(Instant.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} idempotency keys older than {}", purged, retention);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(jsonMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Completed {
+        final String requestHash;
+        final IdempotentResponse response;
+        final Instant createdAt;
+
+        Completed(String requestHash, IdempotentResponse response, Instant createdAt) {
+            this.requestHash = requestHash;
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private static class InFlight {
+        final String requestHash;
+        final CompletableFuture<IdempotentResponse> result = new CompletableFuture<>();
+
+        InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.karunavilla.booking_system.service;
+
+// The Idempotency-Key is malformed, or was already used for a different request body
+public class InvalidIdempotencyKeyException extends IllegalArgumentException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
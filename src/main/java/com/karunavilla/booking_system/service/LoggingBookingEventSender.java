@@ -0,0 +1,17 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.BookingEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Local in-process sender used when no webhook is configured: events are only logged
+public class LoggingBookingEventSender implements BookingEventSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingBookingEventSender.class);
+
+    @Override
+    public void send(BookingEvent event) {
+        logger.info("Booking event {} {} for booking {} ({}, room {})", event.getEventId(), event.getType(),
+                event.getBookingId(), event.getGuestName(), event.getRoomNo());
+    }
+}
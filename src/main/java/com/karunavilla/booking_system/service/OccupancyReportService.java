@@ -0,0 +1,96 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.DailySourceStat;
+import com.karunavilla.booking_system.model.OccupancyReport;
+import com.karunavilla.booking_system.model.OccupancyReportRow;
+import com.karunavilla.booking_system.model.ReportGrouping;
+import com.karunavilla.booking_system.repository.DailyRoomStatRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Occupancy %, ADR and RevPAR by day, month or booking source, read from daily_room_stats only.
+ *
+ * Available room-nights are today's room count times the nights in each bucket, so rooms added or
+ * removed later change the denominator of past periods as well.
+ */
+@Service
+public class OccupancyReportService {
+
+    public static final int MAX_YEARS = 3;
+
+    @Autowired
+    private DailyRoomStatRepository statRepository;
+
+    @Autowired
+    private RoomCatalogCache roomCatalog;
+
+    @Transactional(readOnly = true)
+    public OccupancyReport getReport(LocalDate from, LocalDate to, ReportGrouping groupBy) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        if (to.isAfter(from.plusYears(MAX_YEARS))) {
+            throw new IllegalArgumentException("A report can span at most " + MAX_YEARS + " years");
+        }
+        int rooms = roomCatalog.findAll().size();
+
+        // Buckets in output order, each with the nights it covers inside [from, to)
+        Map<String, Bucket> buckets = new LinkedHashMap<>();
+        if (groupBy != ReportGrouping.SOURCE) {
+            for (LocalDate night = from; night.isBefore(to); night = night.plusDays(1)) {
+                buckets.computeIfAbsent(period(night, groupBy), key -> new Bucket()).nights++;
+            }
+        }
+        Map<String, Bucket> sources = new TreeMap<>();
+        for (DailySourceStat day : statRepository.findBetween(from, to)) {
+            Bucket bucket = groupBy == ReportGrouping.SOURCE
+                    ? sources.computeIfAbsent(day.getBookingSource(), key -> new Bucket())
+                    : buckets.get(period(day.getStatDate(), groupBy));
+            bucket.roomsSold += day.getRoomsSold();
+            bucket.roomRevenue = bucket.roomRevenue.add(day.getRoomRevenue());
+        }
+        if (groupBy == ReportGrouping.SOURCE) {
+            long nights = to.toEpochDay() - from.toEpochDay();
+            sources.values().forEach(bucket -> bucket.nights = nights);
+            buckets = sources;
+        }
+
+        List<OccupancyReportRow> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((period, bucket) -> rows.add(row(period, bucket.nights * rooms, bucket.roomsSold, bucket.roomRevenue)));
+        return new OccupancyReport(from, to, groupBy, rooms, rows);
+    }
+
+    private static String period(LocalDate night, ReportGrouping groupBy) {
+        return groupBy == ReportGrouping.MONTH ? YearMonth.from(night).toString() : night.toString();
+    }
+
+    static OccupancyReportRow row(String period, long available, long sold, BigDecimal revenue) {
+        return new OccupancyReportRow(period, available, sold, revenue,
+                ratio(BigDecimal.valueOf(sold).multiply(BigDecimal.valueOf(100)), available),
+                ratio(revenue, sold),
+                ratio(revenue, available));
+    }
+
+    private static BigDecimal ratio(BigDecimal numerator, long denominator) {
+        return denominator == 0 ? BigDecimal.ZERO
+                : numerator.divide(BigDecimal.valueOf(denominator), 2, RoundingMode.HALF_UP);
+    }
+
+    private static class Bucket {
+        long nights;
+        long roomsSold;
+        BigDecimal roomRevenue = BigDecimal.ZERO;
+    }
+}
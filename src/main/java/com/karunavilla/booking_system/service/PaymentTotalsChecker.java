@@ -0,0 +1,100 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Nightly check that the totalPaid and balance columns on bookings still match their payments.
+ * BookingService keeps them in step on every write; this catches rows changed some other way
+ * (manual SQL, an older build) and recomputes them. Repairs go through the entity, so they show
+ * up in the change feed like any other edit.
+ *
+ * Runs on one instance at a time under the "payment-totals-repair" lease. Each booking is repaired
+ * in its own transaction under its room's lock, like the service's writes, so a repair cannot
+ * interleave with a payment being recorded on the same booking.
+ */
+@Service
+public class PaymentTotalsChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentTotalsChecker.class);
+
+    static final String LEASE = "payment-totals-repair";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomLockManager roomLocks;
+
+    @Autowired
+    private SchedulerLeases leases;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.payment-totals.lease:PT5M}")
+    private Duration lease;
+
+    @Scheduled(cron = "${booking.payment-totals.check-cron:0 0 4 * * *}")
+    public void repairPaymentTotals() {
+        if (!leases.tryAcquire(LEASE, lease)) {
+            logger.debug("Payment totals check is running on another instance");
+            return;
+        }
+        try {
+            List<Long> inconsistent = bookingRepository.findIdsWithInconsistentPaymentTotals();
+            int repaired = 0;
+            for (Long bookingId : inconsistent) {
+                if (repair(bookingId)) {
+                    repaired++;
+                }
+                if (!leases.tryAcquire(LEASE, lease)) {
+                    logger.warn("Payment totals check lost its lease after {} bookings, stopping", repaired);
+                    break;
+                }
+            }
+            if (repaired > 0) {
+                logger.warn("Repaired payment totals on {} bookings", repaired);
+            }
+        } finally {
+            leases.release(LEASE);
+        }
+    }
+
+    private boolean repair(Long bookingId) {
+        Long roomId = bookingRepository.findRoomIdByBookingId(bookingId).orElse(null);
+        if (roomId == null) {
+            return false; // Deleted since the check
+        }
+        Boolean repaired = roomLocks.withRoomLocks(List.of(roomId), () -> transactionTemplate.execute(status -> {
+            // Writers on other instances wait on the room row, as for any booking write
+            roomRepository.lockRooms(List.of(roomId));
+            Booking booking = bookingRepository.findById(bookingId).orElse(null);
+            if (booking == null || !roomId.equals(booking.getRoom().getId())) {
+                return false; // Deleted or moved meanwhile; the next run looks again
+            }
+            BigDecimal storedPaid = booking.getTotalPaid();
+            BigDecimal storedBalance = booking.getBalance();
+            booking.updatePaymentTotals();
+            logger.warn("Booking {} had totalPaid {} / balance {}, recomputed as {} / {}", booking.getId(),
+                    storedPaid, storedBalance, booking.getTotalPaid(), booking.getBalance());
+            return true;
+        }));
+        return Boolean.TRUE.equals(repaired);
+    }
+}
@@ -0,0 +1,74 @@
+package com.karunavilla.booking_system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Notices changes committed by other instances, or by hand, and drops the in-memory state they
+ * made stale. The entity listeners only see this instance's writes.
+ *
+ * Every committed write takes its own number from the shared {@link DataVersion}, and this
+ * instance remembers the numbers its commits took. Each poll refreshes the version requests are
+ * tagged with and looks at the numbers issued since the last one; any that are not ours came
+ * from elsewhere. A local commit whose number is not recorded yet when the poll runs only costs
+ * an extra reload. Requests never wait on this: staleness is bounded by the poll interval.
+ */
+@Component
+public class RemoteChangeWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteChangeWatcher.class);
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private RoomOccupancyIndex occupancyIndex;
+
+    @Autowired
+    private RoomCatalogCache roomCatalog;
+
+    @Autowired
+    private GuestSearchIndex guestSearchIndex;
+
+    // A poll called while another runs has nothing to add, so it is skipped rather than queued
+    private final ReentrantLock polling = new ReentrantLock();
+
+    // -1 until the first poll, which treats everything loaded so far as possibly stale
+    private long seenVersion = -1;
+
+    @Scheduled(fixedDelayString = "${booking.remote-changes.poll-interval:PT2S}")
+    public void poll() {
+        if (!polling.tryLock()) {
+            return;
+        }
+        try {
+            dataVersion.retryPendingBump();
+            long current = dataVersion.refresh().getVersion();
+            if (current <= seenVersion) {
+                return;
+            }
+            long remote = (current - seenVersion) - dataVersion.takeLocalCommits(seenVersion, current);
+            if (seenVersion < 0) {
+                remote = 1;
+            }
+            seenVersion = current;
+            if (remote > 0) {
+                logger.debug("Data version moved to {} through other writers; reloading in-memory state", current);
+                invalidate();
+            }
+        } finally {
+            polling.unlock();
+        }
+    }
+
+    private void invalidate() {
+        occupancyIndex.invalidate();
+        roomCatalog.invalidateAll();
+        guestSearchIndex.invalidate();
+    }
+}
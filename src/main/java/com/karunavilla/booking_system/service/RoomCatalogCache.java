@@ -0,0 +1,198 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.CacheStats;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of the room catalog, by id and by room number, plus a snapshot of the full list.
+ *
+ * Rooms change rarely, so the whole cache is dropped whenever any room is written
+ * (see {@link RoomCatalogListener}), by a bulk update, or by another instance
+ * (see {@link RemoteChangeWatcher}). Callers always receive copies, because rooms handed out
+ * by the service get mutated and saved. Database loads run outside the lock, and a load that
+ * races with an invalidation is not cached.
+ */
+@Component
+public class RoomCatalogCache {
+
+    // Lazy: the entity listener needs this bean while the EntityManagerFactory is still being built
+    @Lazy
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Room> roomsById;
+    private final Map<String, Long> roomIdsByNumber = new HashMap<>();
+    private List<Room> allRooms;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public RoomCatalogCache(@Value("${booking.room-cache.max-entries:512}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.roomsById = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Room> eldest) {
+                if (size() > RoomCatalogCache.this.maxEntries) {
+                    roomIdsByNumber.remove(eldest.getValue().getRoomNumber());
+                    allRooms = null;
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<Room> findById(Long id) {
+        lock.lock();
+        try {
+            Room cached = roomsById.get(id);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return Optional.of(copyOf(cached));
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.incrementAndGet();
+        return loadAndCache(() -> roomRepository.findById(id));
+    }
+
+    public Optional<Room> findByRoomNumber(String roomNumber) {
+        lock.lock();
+        try {
+            Long id = roomIdsByNumber.get(roomNumber);
+            Room cached = id != null ? roomsById.get(id) : null;
+            if (cached != null) {
+                hits.incrementAndGet();
+                return Optional.of(copyOf(cached));
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.incrementAndGet();
+        return loadAndCache(() -> roomRepository.findByRoomNumber(roomNumber));
+    }
+
+    public List<Room> findAll() {
+        long loadGeneration;
+        lock.lock();
+        try {
+            if (allRooms != null) {
+                hits.incrementAndGet();
+                return copyOf(allRooms);
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+        misses.incrementAndGet();
+
+        List<Room> loaded = roomRepository.findAll();
+        List<Room> snapshot = copyOf(loaded);
+        lock.lock();
+        try {
+            if (generation == loadGeneration) {
+                snapshot.forEach(this::putLocked);
+                // Only keep the list when every room fits, otherwise evictions would keep dropping it
+                allRooms = snapshot.size() <= maxEntries ? snapshot : null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return copyOf(snapshot);
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            roomsById.clear();
+            roomIdsByNumber.clear();
+            allRooms = null;
+        } finally {
+            lock.unlock();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public CacheStats getStats() {
+        int size;
+        lock.lock();
+        try {
+            size = roomsById.size();
+        } finally {
+            lock.unlock();
+        }
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), invalidations.get(), size, maxEntries);
+    }
+
+    private Optional<Room> loadAndCache(Supplier<Optional<Room>> loader) {
+        long loadGeneration;
+        lock.lock();
+        try {
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        Optional<Room> loaded = loader.get();
+        loaded.ifPresent(room -> {
+            lock.lock();
+            try {
+                if (generation == loadGeneration) {
+                    putLocked(copyOf(room));
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        return loaded.map(RoomCatalogCache::copyOf);
+    }
+
+    private void putLocked(Room room) {
+        Room previous = roomsById.put(room.getId(), room);
+        if (previous != null && !Objects.equals(previous.getRoomNumber(), room.getRoomNumber())) {
+            roomIdsByNumber.remove(previous.getRoomNumber());
+        }
+        roomIdsByNumber.put(room.getRoomNumber(), room.getId());
+    }
+
+    private static List<Room> copyOf(List<Room> rooms) {
+        List<Room> copies = new ArrayList<>(rooms.size());
+        rooms.forEach(room -> copies.add(copyOf(room)));
+        return copies;
+    }
+
+    private static Room copyOf(Room room) {
+        Room copy = new Room();
+        copy.setId(room.getId());
+        copy.setRoomNumber(room.getRoomNumber());
+        copy.setRoomName(room.getRoomName());
+        copy.setType(room.getType());
+        copy.setPricePerNight(room.getPricePerNight());
+        copy.setStatus(room.getStatus());
+        return copy;
+    }
+}
@@ -0,0 +1,36 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Room;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops {@link RoomCatalogCache} whenever a room is written, and again once the transaction
+ * completes so no reader can re-cache the pre-commit state.
+ */
+@Component
+public class RoomCatalogListener {
+
+    @Autowired
+    private RoomCatalogCache roomCatalogCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRoomChanged(Room room) {
+        roomCatalogCache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    roomCatalogCache.invalidateAll();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.RoomStay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory occupancy of every room at day granularity, so availability can be answered
+ * without a database round trip.
+ *
+ * Each room owns an immutable {@link BitSet} where bit {@code n} means the night starting on
+ * epoch day {@code n} is taken by a CONFIRMED booking. Writers replace a room's bitset
+ * copy-on-write under a single lock; readers never lock.
+ *
+ * The index is loaded from the database at startup and kept current by {@link RoomOccupancyListener},
+ * which applies a transaction's bookings once it commits. The listener only sees this instance's
+ * writes; bookings written through other instances are picked up by {@link RemoteChangeWatcher},
+ * which invalidates the index.
+ */
+@Component
+public class RoomOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomOccupancyIndex.class);
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Map<Long, RoomNights> nightsByRoom = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> roomByBooking = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns true when no CONFIRMED booking of the room overlaps the nights in [startDate, endDate).
+     * Callers must pass a non-empty range.
+     */
+    public boolean isAvailable(Long roomId, LocalDate startDate, LocalDate endDate) {
+        RoomNights nights = nightsByRoom.get(roomId);
+        return nights == null || !nights.overlaps(toDayIndex(startDate.toEpochDay()), toDayIndex(endDate.toEpochDay()));
+    }
+
+    public void put(RoomStay stay) {
+        writeLock.lock();
+        try {
+            removeLocked(stay.getBookingId());
+            nightsByRoom.compute(stay.getRoomId(), (roomId, nights) ->
+                    (nights == null ? RoomNights.EMPTY : nights).with(stay.getBookingId(), stay.getCheckInDate(), stay.getCheckOutDate()));
+            roomByBooking.put(stay.getBookingId(), stay.getRoomId());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long bookingId) {
+        writeLock.lock();
+        try {
+            removeLocked(bookingId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the index stale; the next {@link #ensureReady} reloads it. Any rebuild already in
+     * flight will not mark itself ready.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        ready = false;
+    }
+
+    public void ensureReady(Supplier<List<RoomStay>> loader) {
+        if (ready) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (!ready) {
+                rebuildLocked(loader);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void rebuild(Supplier<List<RoomStay>> loader) {
+        writeLock.lock();
+        try {
+            rebuildLocked(loader);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rebuildLocked(Supplier<List<RoomStay>> loader) {
+        long startGeneration = generation.get();
+        List<RoomStay> stays = loader.get();
+
+        Map<Long, RoomNights> rebuiltNights = new ConcurrentHashMap<>();
+        Map<Long, Long> rebuiltRooms = new ConcurrentHashMap<>();
+        for (RoomStay stay : stays) {
+            rebuiltNights.compute(stay.getRoomId(), (roomId, nights) ->
+                    (nights == null ? RoomNights.EMPTY : nights).with(stay.getBookingId(), stay.getCheckInDate(), stay.getCheckOutDate()));
+            rebuiltRooms.put(stay.getBookingId(), stay.getRoomId());
+        }
+        nightsByRoom = rebuiltNights;
+        roomByBooking = rebuiltRooms;
+        ready = generation.get() == startGeneration;
+        logger.info("Room occupancy index loaded with {} bookings across {} rooms", stays.size(), rebuiltNights.size());
+    }
+
+    private void removeLocked(Long bookingId) {
+        Long roomId = roomByBooking.remove(bookingId);
+        if (roomId != null) {
+            nightsByRoom.computeIfPresent(roomId, (id, nights) -> nights.without(bookingId));
+        }
+    }
+
+    private static int toDayIndex(long epochDay) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE - 1, epochDay));
+    }
+
+    // Check-in rounds down and check-out rounds up so that stays not aligned to midnight
+    // block the same requests the overlap query would.
+    private static int firstNight(Instant checkIn) {
+        return toDayIndex(Math.floorDiv(checkIn.getEpochSecond(), SECONDS_PER_DAY));
+    }
+
+    private static int endNight(Instant checkOut) {
+        return toDayIndex(Math.floorDiv(checkOut.getEpochSecond() + SECONDS_PER_DAY - 1, SECONDS_PER_DAY));
+    }
+
+    /**
+     * Immutable nights of a single room. Zero-night stays that start and end on the same midnight
+     * are kept as points, because they still conflict with any request spanning that midnight.
+     */
+    private static final class RoomNights {
+
+        static final RoomNights EMPTY = new RoomNights(Collections.emptyMap());
+
+        private final Map<Long, int[]> stays;
+        private final BitSet nights = new BitSet();
+        private final int[] points;
+
+        private RoomNights(Map<Long, int[]> stays) {
+            this.stays = stays;
+            int[] collectedPoints = new int[stays.size()];
+            int pointCount = 0;
+            for (int[] range : stays.values()) {
+                if (range[1] > range[0]) {
+                    nights.set(range[0], range[1]);
+                } else if (range[1] == range[0]) {
+                    collectedPoints[pointCount++] = range[0];
+                }
+            }
+            this.points = Arrays.copyOf(collectedPoints, pointCount);
+        }
+
+        RoomNights with(Long bookingId, Instant checkIn, Instant checkOut) {
+            if (checkIn == null || checkOut == null) {
+                return this;
+            }
+            Map<Long, int[]> updated = new HashMap<>(stays);
+            updated.put(bookingId, new int[]{firstNight(checkIn), endNight(checkOut)});
+            return new RoomNights(updated);
+        }
+
+        RoomNights without(Long bookingId) {
+            if (!stays.containsKey(bookingId)) {
+                return this;
+            }
+            Map<Long, int[]> updated = new HashMap<>(stays);
+            updated.remove(bookingId);
+            return updated.isEmpty() ? null : new RoomNights(updated);
+        }
+
+        boolean overlaps(int fromNight, int toNight) {
+            int taken = nights.nextSetBit(fromNight);
+            if (taken >= 0 && taken < toNight) {
+                return true;
+            }
+            for (int point : points) {
+                if (point > fromNight && point < toNight) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.model.RoomStay;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link RoomOccupancyIndex} in step with every booking write, whichever code path issues it.
+ *
+ * Changes are applied once the writing transaction commits, so other readers never see a booking
+ * that may still roll back; a rollback leaves the index untouched. The writing transaction sees
+ * its own bookings through the overlap queries instead.
+ */
+@Component
+public class RoomOccupancyListener {
+
+    @Autowired
+    private RoomOccupancyIndex occupancyIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Booking booking) {
+        if (booking.getRoom() == null) {
+            return;
+        }
+        RoomStay stay = new RoomStay(booking.getId(), booking.getRoom().getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+        boolean confirmed = "CONFIRMED".equals(booking.getStatus());
+        applyAfterCommit(confirmed ? () -> occupancyIndex.put(stay) : () -> occupancyIndex.remove(stay.getBookingId()));
+    }
+
+    @PostRemove
+    public void onRemove(Booking booking) {
+        Long bookingId = booking.getId();
+        applyAfterCommit(() -> occupancyIndex.remove(bookingId));
+    }
+
+    private void applyAfterCommit(Runnable apply) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.repository.SchedulerLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Leases in the scheduler_leases table, so a job scheduled on every instance runs on one at a
+ * time. Each call commits on its own: a lease must be visible to the other instances at once, not
+ * when the job's work commits. Holders renew while they work; a holder that dies lets it lapse.
+ */
+@Service
+public class SchedulerLeases {
+
+    private final String owner = hostName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    public String getOwner() {
+        return owner;
+    }
+
+    // True when this instance holds the lease for the given duration from now, taken or renewed
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, Duration duration) {
+        Instant now = Instant.now();
+        Instant until = now.plus(duration);
+        return leaseRepository.create(name, owner, until) == 1
+                || leaseRepository.acquire(name, owner, now, until) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String name) {
+        leaseRepository.release(name, owner, Instant.now());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.karunavilla.booking_system.service;
+
+// The token is older than the tombstone retention, so deletions may have been forgotten
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
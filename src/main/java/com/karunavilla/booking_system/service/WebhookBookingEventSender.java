@@ -0,0 +1,40 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.BookingEvent;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// POSTs each event as JSON; anything but a 2xx is a failed delivery and gets retried
+public class WebhookBookingEventSender implements BookingEventSender {
+
+    private final URI url;
+    private final Duration timeout;
+    private final JsonMapper jsonMapper;
+    private final HttpClient httpClient;
+
+    public WebhookBookingEventSender(URI url, Duration timeout, JsonMapper jsonMapper) {
+        this.url = url;
+        this.timeout = timeout;
+        this.jsonMapper = jsonMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void send(BookingEvent event) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", String.valueOf(event.getEventId()))
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(event)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new RuntimeException("Webhook " + url + " answered " + response.statusCode());
+        }
+    }
+}
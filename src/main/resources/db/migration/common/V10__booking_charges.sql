@@ -0,0 +1,15 @@
+-- Additional charges (food, laundry, ...) as typed rows, so totals can be summed in SQL and payment
+-- rows stop carrying JSON text. BookingChargeBackfill moves what is in payments.additional_amount
+-- over at startup; drop that column in a later migration once every instance has run it.
+CREATE TABLE IF NOT EXISTS booking_charges (
+    id          BIGINT NOT NULL PRIMARY KEY,
+    booking_id  BIGINT NOT NULL,
+    category    VARCHAR(100),
+    amount      NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT fk_booking_charges_booking FOREIGN KEY (booking_id) REFERENCES bookings (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_charges_booking_id ON booking_charges (booking_id);
+
+-- Increment must match allocationSize on BookingCharge
+CREATE SEQUENCE IF NOT EXISTS booking_charges_seq START WITH 1 INCREMENT BY 50;
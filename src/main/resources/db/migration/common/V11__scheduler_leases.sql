@@ -0,0 +1,10 @@
+-- Named leases for jobs that must run on one instance at a time. A lease is held until
+-- locked_until; an instance that dies simply lets it run out.
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name          VARCHAR(100) NOT NULL PRIMARY KEY,
+    owner         VARCHAR(200) NOT NULL,
+    locked_until  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Checkout sweep: expired CONFIRMED stays of BOOKED rooms, oldest first
+CREATE INDEX IF NOT EXISTS idx_bookings_status_check_out ON bookings (status, check_out_date);
@@ -0,0 +1,11 @@
+-- One row counting committed data changes across all instances; the ETags of the read endpoints
+-- are built from it. Bumped inside every transaction that writes a room, booking, guest, payment
+-- or charge. Changes made by hand in SQL should bump it too, or clients keep their cached copies:
+--   UPDATE data_version SET version = version + 1, modified_at = modified_at + 1 WHERE id = 1;
+CREATE TABLE IF NOT EXISTS data_version (
+    id           INTEGER NOT NULL PRIMARY KEY,
+    version      BIGINT NOT NULL,
+    modified_at  BIGINT NOT NULL -- epoch second of the last change, for Last-Modified
+);
+
+INSERT INTO data_version (id, version, modified_at) VALUES (1, 0, 0);
@@ -0,0 +1,25 @@
+-- Commit-ordered change numbers for the /bookings/changes feed, replacing updated_at there.
+-- Writers set change_version to NULL; the short transaction that bumps data_version after each
+-- commit stamps every NULL row with the new version. Stamps queue on the data_version row, so
+-- they become visible in version order and a sync token is just the last version a client saw.
+-- Changes made by hand in SQL should set change_version to NULL and bump data_version too.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS change_version BIGINT;
+ALTER TABLE guests ADD COLUMN IF NOT EXISTS change_version BIGINT;
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS change_version BIGINT;
+ALTER TABLE booking_tombstones ADD COLUMN IF NOT EXISTS change_version BIGINT;
+
+-- Existing rows count as already sent: tokens issued before this migration start a full sync
+UPDATE bookings SET change_version = (SELECT version FROM data_version WHERE id = 1);
+UPDATE guests SET change_version = (SELECT version FROM data_version WHERE id = 1);
+UPDATE payments SET change_version = (SELECT version FROM data_version WHERE id = 1);
+UPDATE booking_tombstones SET change_version = (SELECT version FROM data_version WHERE id = 1);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_change_version ON bookings (change_version);
+CREATE INDEX IF NOT EXISTS idx_guests_change_version ON guests (change_version);
+CREATE INDEX IF NOT EXISTS idx_payments_change_version ON payments (change_version);
+CREATE INDEX IF NOT EXISTS idx_booking_tombstones_change_version ON booking_tombstones (change_version);
+
+-- The feed no longer reads updated_at
+DROP INDEX IF EXISTS idx_bookings_updated_at;
+DROP INDEX IF EXISTS idx_guests_updated_at;
+DROP INDEX IF EXISTS idx_payments_updated_at;
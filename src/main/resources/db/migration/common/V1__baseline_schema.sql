@@ -0,0 +1,51 @@
+-- Schema as previously created by Hibernate's ddl-auto. Every statement is guarded so the script
+-- also runs on databases that were created that way (Flyway baselines them at version 0).
+
+CREATE TABLE IF NOT EXISTS rooms (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_number      VARCHAR(255),
+    room_name        VARCHAR(255),
+    type             VARCHAR(255),
+    price_per_night  NUMERIC(38, 2),
+    status           VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS guests (
+    id             BIGINT NOT NULL PRIMARY KEY,
+    full_name      VARCHAR(255),
+    email          VARCHAR(255),
+    mobile_number  VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id                BIGINT NOT NULL PRIMARY KEY,
+    guest_id          BIGINT NOT NULL,
+    room_id           BIGINT NOT NULL,
+    check_in_date     TIMESTAMP(6) WITH TIME ZONE,
+    check_out_date    TIMESTAMP(6) WITH TIME ZONE,
+    booking_source    VARCHAR(255),
+    internal_notes    VARCHAR(255),
+    amount_per_night  NUMERIC(38, 2),
+    total_amount      NUMERIC(38, 2),
+    status            VARCHAR(255),
+    CONSTRAINT fk_bookings_guest FOREIGN KEY (guest_id) REFERENCES guests (id),
+    CONSTRAINT fk_bookings_room FOREIGN KEY (room_id) REFERENCES rooms (id)
+);
+
+CREATE TABLE IF NOT EXISTS payments (
+    id                          BIGINT NOT NULL PRIMARY KEY,
+    booking_id                  BIGINT NOT NULL,
+    advance_amount              NUMERIC(38, 2),
+    pending_amount              NUMERIC(38, 2),
+    method_advance_amount_paid  VARCHAR(255),
+    method_pending_amount_paid  VARCHAR(255),
+    type                        VARCHAR(255),
+    payment_date                TIMESTAMP(6) WITH TIME ZONE,
+    additional_amount           TEXT,
+    CONSTRAINT fk_payments_booking FOREIGN KEY (booking_id) REFERENCES bookings (id)
+);
+
+-- Increment must match allocationSize on the entities' @SequenceGenerator
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS guests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS payments_seq START WITH 1 INCREMENT BY 50;
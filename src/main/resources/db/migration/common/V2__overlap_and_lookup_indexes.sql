@@ -0,0 +1,13 @@
+-- Overlap check for one room (findOverlappingBookingsForRoom, findOverlappingRoomStays):
+-- equality on room_id and status, range on check_in_date, check_out_date filtered from the index.
+CREATE INDEX IF NOT EXISTS idx_bookings_room_status_stay ON bookings (room_id, status, check_in_date, check_out_date);
+
+-- Overlap check across all rooms (findOverlappingBookings) and the occupancy index load.
+CREATE INDEX IF NOT EXISTS idx_bookings_status_stay ON bookings (status, check_in_date, check_out_date);
+
+-- Foreign keys are not indexed automatically on PostgreSQL.
+CREATE INDEX IF NOT EXISTS idx_bookings_guest_id ON bookings (guest_id);
+CREATE INDEX IF NOT EXISTS idx_payments_booking_id ON payments (booking_id);
+
+CREATE INDEX IF NOT EXISTS idx_guests_mobile_number ON guests (mobile_number);
+CREATE INDEX IF NOT EXISTS idx_rooms_room_number ON rooms (room_number);
@@ -0,0 +1,23 @@
+-- Optimistic-lock versions and last-modified timestamps for the /bookings/changes feed.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE guests ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE guests ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+
+UPDATE bookings SET updated_at = CURRENT_TIMESTAMP WHERE updated_at IS NULL;
+UPDATE guests SET updated_at = CURRENT_TIMESTAMP WHERE updated_at IS NULL;
+UPDATE payments SET updated_at = CURRENT_TIMESTAMP WHERE updated_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_updated_at ON bookings (updated_at);
+CREATE INDEX IF NOT EXISTS idx_guests_updated_at ON guests (updated_at);
+CREATE INDEX IF NOT EXISTS idx_payments_updated_at ON payments (updated_at);
+
+-- Deleted bookings, kept for the retention window so polling clients can drop them.
+CREATE TABLE IF NOT EXISTS booking_tombstones (
+    booking_id  BIGINT NOT NULL PRIMARY KEY,
+    deleted_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_tombstones_deleted_at ON booking_tombstones (deleted_at);
@@ -0,0 +1,8 @@
+-- Paid and outstanding amounts kept on the booking row, so balance listings don't aggregate payments.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS total_paid NUMERIC(38, 2) DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS balance NUMERIC(38, 2) DEFAULT 0 NOT NULL;
+
+-- One-off backfill from the payments recorded so far
+UPDATE bookings SET total_paid = COALESCE(
+        (SELECT SUM(p.advance_amount) FROM payments p WHERE p.booking_id = bookings.id), 0);
+UPDATE bookings SET balance = COALESCE(total_amount, 0) - total_paid;
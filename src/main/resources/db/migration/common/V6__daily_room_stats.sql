@@ -0,0 +1,9 @@
+-- Room-nights sold and room revenue per day and booking source, kept up to date by BookingService
+-- and rebuilt nightly. Occupancy, ADR and RevPAR reports read only this table.
+CREATE TABLE IF NOT EXISTS daily_room_stats (
+    stat_date       DATE NOT NULL,
+    booking_source  VARCHAR(255) NOT NULL,
+    rooms_sold      INTEGER NOT NULL,
+    room_revenue    NUMERIC(38, 2) NOT NULL,
+    CONSTRAINT pk_daily_room_stats PRIMARY KEY (stat_date, booking_source)
+);
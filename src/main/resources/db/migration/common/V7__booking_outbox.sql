@@ -0,0 +1,18 @@
+-- Booking events written in the booking's own transaction and delivered afterwards by the outbox
+-- dispatcher. Delivered rows are deleted; rows that run out of attempts stay behind as FAILED.
+CREATE TABLE IF NOT EXISTS booking_outbox (
+    id               BIGINT NOT NULL PRIMARY KEY,
+    event_type       VARCHAR(32) NOT NULL,
+    booking_id       BIGINT NOT NULL,
+    payload          TEXT NOT NULL,
+    status           VARCHAR(16) NOT NULL,
+    attempts         INTEGER DEFAULT 0 NOT NULL,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    next_attempt_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error       VARCHAR(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_outbox_status_next_attempt ON booking_outbox (status, next_attempt_at);
+
+-- Increment must match allocationSize on BookingOutboxEvent
+CREATE SEQUENCE IF NOT EXISTS booking_outbox_seq START WITH 1 INCREMENT BY 50;
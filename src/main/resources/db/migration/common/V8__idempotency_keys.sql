@@ -0,0 +1,12 @@
+-- Responses to POSTs sent with an Idempotency-Key, replayed when the client retries the request.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key  VARCHAR(300) NOT NULL PRIMARY KEY, -- endpoint scope plus the client's key
+    request_hash     VARCHAR(64) NOT NULL,
+    status           VARCHAR(16) NOT NULL,
+    response_status  INTEGER,
+    content_type     VARCHAR(100),
+    response_body    TEXT,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
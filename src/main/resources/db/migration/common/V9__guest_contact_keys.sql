@@ -0,0 +1,9 @@
+-- Normalized contact details that createBooking matches repeat guests on. Filled in by
+-- GuestMergeService, which also folds guests that turn out to share a key into the oldest one.
+ALTER TABLE guests ADD COLUMN IF NOT EXISTS normalized_mobile VARCHAR(32);
+ALTER TABLE guests ADD COLUMN IF NOT EXISTS normalized_email VARCHAR(255);
+
+-- Not unique: history has duplicates until the merge job has run, and a first-time guest booking
+-- two rooms at once can still create a pair for the next run to fold. Lookups take the lowest id.
+CREATE INDEX IF NOT EXISTS idx_guests_normalized_mobile ON guests (normalized_mobile, id);
+CREATE INDEX IF NOT EXISTS idx_guests_normalized_email ON guests (normalized_email, id);
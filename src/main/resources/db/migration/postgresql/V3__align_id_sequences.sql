@@ -0,0 +1,14 @@
+-- bookings, guests and payments used identity columns before they moved to pooled sequences.
+-- Move each sequence past the ids already in use (never backwards) so new ids cannot collide.
+-- The 50 matches the allocationSize on the entities' @SequenceGenerator.
+SELECT setval('bookings_seq', t.max_id + 50)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM bookings) t
+WHERE t.max_id + 50 > (SELECT last_value FROM bookings_seq);
+
+SELECT setval('guests_seq', t.max_id + 50)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM guests) t
+WHERE t.max_id + 50 > (SELECT last_value FROM guests_seq);
+
+SELECT setval('payments_seq', t.max_id + 50)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM payments) t
+WHERE t.max_id + 50 > (SELECT last_value FROM payments_seq);
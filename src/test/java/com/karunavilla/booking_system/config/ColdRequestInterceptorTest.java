@@ -0,0 +1,38 @@
+package com.karunavilla.booking_system.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ColdRequestInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void onlyTheFirstRequestAndTheFirstAfterAnIdleSpellAreTimed() throws InterruptedException {
+        ColdRequestInterceptor interceptor = new ColdRequestInterceptor(meterRegistry, Duration.ofMillis(50));
+
+        handle(interceptor, "/allBooking");
+        handle(interceptor, "/allBooking");
+        Thread.sleep(100);
+        handle(interceptor, "/saveBooking");
+
+        assertEquals(1, meterRegistry.get("booking.requests.cold").tag("after", "startup").tag("uri", "/allBooking").timer().count());
+        assertEquals(1, meterRegistry.get("booking.requests.cold").tag("after", "idle").tag("uri", "/saveBooking").timer().count());
+        assertEquals(2, meterRegistry.get("booking.requests.cold").timers().size());
+    }
+
+    private static void handle(ColdRequestInterceptor interceptor, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+}
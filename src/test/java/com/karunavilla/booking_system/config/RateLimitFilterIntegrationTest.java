@@ -0,0 +1,47 @@
+package com.karunavilla.booking_system.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * One read per client, refilled far slower than the test runs. Every request reaches the instance
+ * from the same load balancer address, as it does in production.
+ */
+@SpringBootTest(properties = {
+        "server.forward-headers-strategy=framework",
+        "booking.rate-limit.read.capacity=1",
+        "booking.rate-limit.read.per-second=0.01"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class RateLimitFilterIntegrationTest {
+
+    private static final String LOAD_BALANCER = "10.0.0.2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void clientsBehindTheLoadBalancerGetTheirOwnBuckets() throws Exception {
+        mockMvc.perform(get("/allRooms").with(request -> from(request, "203.0.113.10")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/allRooms").with(request -> from(request, "203.0.113.10")))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/allRooms").with(request -> from(request, "203.0.113.20")))
+                .andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequest from(MockHttpServletRequest request, String client) {
+        request.setRemoteAddr(LOAD_BALANCER);
+        request.addHeader("X-Forwarded-For", client);
+        return request;
+    }
+}
@@ -0,0 +1,46 @@
+package com.karunavilla.booking_system.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The refill rates are slow enough that no token comes back while a test runs.
+ */
+public class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RateLimiter rateLimiter = new RateLimiter(meterRegistry, true, 5, 0.01, 2, 0.01);
+
+    @Test
+    public void aFullBucketAdmitsItsBurstThenAsksTheClientToWait() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(RateLimiter.EndpointClass.READ, "ip:10.0.0.1"));
+        }
+        long wait = rateLimiter.tryAcquire(RateLimiter.EndpointClass.READ, "ip:10.0.0.1");
+        // One token every 100s, and the first of the burst was taken just now
+        assertTrue(wait > 90_000_000_000L && wait <= 100_000_000_000L, "wait was " + wait);
+        assertEquals(1.0, meterRegistry.get("booking.rate_limit.rejected").tag("class", "read").counter().count());
+        assertEquals(0.0, meterRegistry.get("booking.rate_limit.rejected").tag("class", "write").counter().count());
+    }
+
+    @Test
+    public void readsWritesAndClientsHaveSeparateBudgets() {
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.EndpointClass.WRITE, "user:frontdesk"));
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.EndpointClass.WRITE, "user:frontdesk"));
+        assertTrue(rateLimiter.tryAcquire(RateLimiter.EndpointClass.WRITE, "user:frontdesk") > 0);
+
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.EndpointClass.READ, "user:frontdesk"));
+        assertEquals(0, rateLimiter.tryAcquire(RateLimiter.EndpointClass.WRITE, "user:owner"));
+    }
+
+    @Test
+    public void onlyBucketsWithTokensTakenSurviveTheSweep() {
+        rateLimiter.tryAcquire(RateLimiter.EndpointClass.READ, "ip:10.0.0.1");
+        rateLimiter.evictFullBuckets();
+        assertEquals(1.0, meterRegistry.get("booking.rate_limit.buckets").gauge().value());
+    }
+}
@@ -0,0 +1,169 @@
+package com.karunavilla.booking_system.controller;
+
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.BookingDTO;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.GuestRepository;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import com.karunavilla.booking_system.service.BookingService;
+import com.karunavilla.booking_system.service.RemoteChangeWatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BookingControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RemoteChangeWatcher remoteChangeWatcher;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @BeforeEach
+    public void setup() {
+        bookingRepository.deleteAll();
+        guestRepository.deleteAll();
+        roomRepository.deleteAll();
+
+        Room room = new Room();
+        room.setRoomNumber("101");
+        room.setType("Deluxe");
+        room.setPricePerNight(BigDecimal.valueOf(100));
+        room.setStatus("AVAILABLE");
+        room.setRoomName("Room 101");
+        roomRepository.save(room);
+    }
+
+    @Test
+    public void conditionalGetsAnswer304OnlyWhileTheTagIsCurrent() throws Exception {
+        String etag = mockMvc.perform(get("/allRooms"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        mockMvc.perform(get("/allRooms").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Another instance, or a fix made by hand, bumps the shared row; this instance wrote nothing
+        // and keeps answering from the version it knows until the watcher polls
+        jdbcTemplate.update("UPDATE data_version SET version = version + 1, modified_at = modified_at + 1 WHERE id = 1");
+        mockMvc.perform(get("/allRooms").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        remoteChangeWatcher.poll();
+
+        String newEtag = mockMvc.perform(get("/allRooms").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+        mockMvc.perform(get("/allBooking").header(HttpHeaders.IF_NONE_MATCH, newEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void aGarbageCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/allBooking").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/allBooking").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void exportStreamsNdjsonAndQuotedCsvNarrowedByTheFilters() throws Exception {
+        Room room102 = new Room();
+        room102.setRoomNumber("102");
+        room102.setType("Standard");
+        room102.setPricePerNight(BigDecimal.valueOf(80));
+        room102.setStatus("AVAILABLE");
+        room102.setRoomName("Room 102");
+        roomRepository.save(room102);
+        bookingService.createBooking(bookingDTO("Doe, \"JJ\"\nJr", "9000000001", "101", LocalDate.of(2027, 1, 1)));
+        bookingService.createBooking(bookingDTO("Plain Guest", "9000000002", "102", LocalDate.of(2027, 2, 1)));
+
+        MockHttpServletResponse ndjson = export("/bookings/export");
+        assertEquals("application/x-ndjson", ndjson.getContentType());
+        List<String> lines = ndjson.getContentAsString().lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("Doe, \"JJ\"\nJr", jsonMapper.readTree(lines.get(0)).get("guest").asString());
+        assertEquals("102", jsonMapper.readTree(lines.get(1)).get("room").asString());
+
+        String csv = export("/bookings/export?format=csv").getContentAsString();
+        assertTrue(csv.startsWith("id,guest,bookingSource,room,checkInDate,checkOutDate,status,totalPaid,balance,contactNumber\n"));
+        // Commas, quotes and newlines inside a field are quoted, with quotes doubled
+        assertTrue(csv.contains(",\"Doe, \"\"JJ\"\"\nJr\",Direct,101,2027-01-01T00:00:00Z,2027-01-03T00:00:00Z,CONFIRMED,"), csv);
+        assertTrue(csv.contains(",Plain Guest,Direct,102,"), csv);
+
+        assertEquals(List.of("Plain Guest"), csvGuests("/bookings/export?format=csv&roomNo=102"));
+        assertEquals(List.of("Plain Guest"), csvGuests("/bookings/export?format=csv&from=2027-01-15"));
+        assertEquals(1, csvGuests("/bookings/export?format=csv&to=2027-01-15").size());
+        assertEquals(List.of(), csvGuests("/bookings/export?format=csv&status=CANCELLED"));
+
+        mockMvc.perform(get("/bookings/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletResponse export(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse();
+    }
+
+    // Guest column of each row; the filtered cases have no quoted fields
+    private List<String> csvGuests(String url) throws Exception {
+        return export(url).getContentAsString().lines().skip(1).map(line -> line.split(",")[1]).toList();
+    }
+
+    private BookingDTO bookingDTO(String fullName, String mobileNumber, String roomNo, LocalDate checkIn) {
+        BookingDTO dto = new BookingDTO();
+        dto.setFullName(fullName);
+        dto.setMobileNumber(mobileNumber);
+        dto.setRoomNo(roomNo);
+        dto.setCheckInDate(checkIn);
+        dto.setCheckOutDate(checkIn.plusDays(2));
+        dto.setNightlyRate(BigDecimal.valueOf(100));
+        dto.setTotalAmount(BigDecimal.valueOf(200));
+        dto.setBookingSource("Direct");
+        dto.setAdvanceAmount(BigDecimal.valueOf(50));
+        dto.setPaymentMethod("UPI");
+        return dto;
+    }
+}
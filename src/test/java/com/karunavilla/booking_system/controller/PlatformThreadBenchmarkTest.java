@@ -0,0 +1,19 @@
+package com.karunavilla.booking_system.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Same pool size as the virtual-threads profile so only the request threads differ
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:platform-bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "booking.rate-limit.enabled=false" // every load client shares one address
+})
+@ActiveProfiles("test")
+public class PlatformThreadBenchmarkTest extends ThreadModeBenchmarkSupport {
+
+    @Override
+    protected String threadMode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,155 @@
+package com.karunavilla.booking_system.controller;
+
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.GuestRepository;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test shared by the platform and virtual thread benchmarks. Each subclass boots the app on a
+ * random port in one thread mode; the numbers are printed so the two runs can be compared.
+ *
+ * Run with ./gradlew -PjavaVersion=21 threadModeBenchmark, optionally with
+ * -Pbenchmark.clients=... and -Pbenchmark.requests=...
+ */
+@Tag("benchmark")
+abstract class ThreadModeBenchmarkSupport {
+
+    private static final int ROOMS = 50;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2031, 1, 1);
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    protected abstract String threadMode();
+
+    @BeforeEach
+    public void setup() {
+        bookingRepository.deleteAll();
+        guestRepository.deleteAll();
+        roomRepository.deleteAll();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomNumber("B" + i);
+            room.setType("Standard");
+            room.setPricePerNight(BigDecimal.valueOf(100));
+            room.setStatus("AVAILABLE");
+            room.setRoomName("Benchmark room " + i);
+            roomRepository.save(room);
+        }
+    }
+
+    @Test
+    public void availableRoomsUnderLoad() throws Exception {
+        IntFunction<HttpRequest> availableRooms = i -> {
+            LocalDate start = FIRST_NIGHT.plusDays(i % 365);
+            return HttpRequest.newBuilder(uri("/available-rooms?startDate=" + start + "&endDate=" + start.plusDays(3)))
+                    .GET()
+                    .build();
+        };
+        run("/available-rooms", WARMUP_REQUESTS, availableRooms);
+        run("/available-rooms", REQUESTS, availableRooms);
+    }
+
+    @Test
+    public void saveBookingUnderLoad() throws Exception {
+        // Every request gets its own room and night so all of them succeed and none are rejected early
+        IntFunction<HttpRequest> saveBooking = i -> {
+            LocalDate checkIn = FIRST_NIGHT.plusDays(2L * (i / ROOMS));
+            String body = """
+                    {"fullName":"Load Guest","mobileNumber":"9876543210","roomNo":"B%d",\
+                    "checkInDate":"%s","checkOutDate":"%s","nightlyRate":100,"totalAmount":100,\
+                    "bookingSource":"Direct","advanceAmount":0,"paymentMethod":"Cash"}"""
+                    .formatted(i % ROOMS, checkIn, checkIn.plusDays(1));
+            return HttpRequest.newBuilder(uri("/saveBooking"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        };
+        run("/saveBooking", REQUESTS, saveBooking);
+        assertEquals(REQUESTS, bookingRepository.count());
+    }
+
+    private void run(String endpoint, int requests, IntFunction<HttpRequest> requestFactory) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long startedAt = System.nanoTime();
+        for (int client = 0; client < CLIENTS; client++) {
+            clients.submit(() -> {
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    long sentAt = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(requestFactory.apply(i), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - sentAt;
+                }
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(10, TimeUnit.MINUTES), "Load run did not finish in time");
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        System.out.printf("[%s threads] %s: %d requests, %d clients, %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d failed%n",
+                threadMode(), endpoint, requests, CLIENTS, requests / seconds,
+                millis(latencies, 0.50), millis(latencies, 0.99), latencies[requests - 1] / 1_000_000.0, failures.get());
+        assertEquals(0, failures.get(), endpoint + " requests failed under load");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static double millis(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+}
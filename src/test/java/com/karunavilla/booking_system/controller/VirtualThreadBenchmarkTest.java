@@ -0,0 +1,26 @@
+package com.karunavilla.booking_system.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual-bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "booking.rate-limit.enabled=false" // every load client shares one address
+})
+@ActiveProfiles({"test", "virtual-threads"})
+public class VirtualThreadBenchmarkTest extends ThreadModeBenchmarkSupport {
+
+    @BeforeAll
+    public static void requireVirtualThreads() {
+        // On older runtimes Spring Boot silently falls back to platform threads
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21+, build with -PjavaVersion=21");
+    }
+
+    @Override
+    protected String threadMode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,168 @@
+package com.karunavilla.booking_system.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies the Flyway migrations to an empty database, loads a spread of bookings and checks that
+ * the overlap and lookup queries are planned on the migration's indexes.
+ *
+ * The PostgreSQL variant runs only when BOOKING_PG_TEST_URL (plus BOOKING_PG_TEST_USER and
+ * BOOKING_PG_TEST_PASSWORD) points at a scratch database; it works in its own schema and drops it.
+ */
+public class OverlapQueryPlanTest {
+
+    private static final String ROOM_OVERLAP =
+            "SELECT b.id FROM bookings b WHERE b.room_id = 3 AND b.status = 'CONFIRMED' " +
+            "AND b.check_in_date < TIMESTAMP WITH TIME ZONE '2030-03-05 00:00:00+00' " +
+            "AND b.check_out_date > TIMESTAMP WITH TIME ZONE '2030-03-01 00:00:00+00'";
+
+    private static final String ALL_ROOMS_OVERLAP =
+            "SELECT b.id, b.room_id FROM bookings b WHERE b.status = 'CONFIRMED' " +
+            "AND b.check_in_date < TIMESTAMP WITH TIME ZONE '2030-03-05 00:00:00+00' " +
+            "AND b.check_out_date > TIMESTAMP WITH TIME ZONE '2030-03-01 00:00:00+00'";
+
+    private static final String GUEST_BY_MOBILE = "SELECT g.id FROM guests g WHERE g.mobile_number = '9800000042'";
+
+    private static final String PAYMENTS_OF_BOOKING = "SELECT p.id FROM payments p WHERE p.booking_id = 42";
+
+    @Test
+    public void h2PlansUseTheIndexes() throws SQLException {
+        String url = "jdbc:h2:mem:query-plans;DB_CLOSE_DELAY=-1";
+        migrate(Flyway.configure().dataSource(url, "sa", "")
+                .locations("classpath:db/migration/common"));
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            seed(connection);
+            execute(connection, "ANALYZE");
+
+            assertUsesIndex(explain(connection, ROOM_OVERLAP), "IDX_BOOKINGS_ROOM_STATUS_STAY");
+            assertUsesIndex(explain(connection, ALL_ROOMS_OVERLAP), "IDX_BOOKINGS_STATUS_STAY");
+            assertUsesIndex(explain(connection, GUEST_BY_MOBILE), "IDX_GUESTS_MOBILE_NUMBER");
+            // H2 also indexes foreign keys on its own, so only require that this is not a scan
+            assertFalse(explain(connection, PAYMENTS_OF_BOOKING).contains("tableScan"));
+        }
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "BOOKING_PG_TEST_URL", matches = ".+")
+    public void postgresPlansUseTheIndexes() throws SQLException {
+        String url = System.getenv("BOOKING_PG_TEST_URL");
+        String user = System.getenv("BOOKING_PG_TEST_USER");
+        String password = System.getenv("BOOKING_PG_TEST_PASSWORD");
+        String schema = "plan_test_" + System.currentTimeMillis();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            try {
+                migrate(Flyway.configure().dataSource(url, user, password)
+                        .schemas(schema)
+                        .locations("classpath:db/migration/common", "classpath:db/migration/postgresql"));
+                execute(connection, "SET search_path TO " + schema);
+                seed(connection);
+                execute(connection, "ANALYZE");
+                // The seeded tables are small enough that a sequential scan would win on cost;
+                // this asks whether the index can serve the query at all.
+                execute(connection, "SET enable_seqscan = off");
+
+                assertUsesIndex(explain(connection, ROOM_OVERLAP), "idx_bookings_room_status_stay");
+                assertUsesIndex(explain(connection, ALL_ROOMS_OVERLAP), "idx_bookings_status_stay");
+                assertUsesIndex(explain(connection, GUEST_BY_MOBILE), "idx_guests_mobile_number");
+                assertUsesIndex(explain(connection, PAYMENTS_OF_BOOKING), "idx_payments_booking_id");
+            } finally {
+                execute(connection, "DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+            }
+        }
+    }
+
+    private static void migrate(FluentConfiguration configuration) {
+        configuration.load().migrate();
+    }
+
+    // 20 rooms with back-to-back stays through 2030, a quarter of them cancelled
+    private static void seed(Connection connection) throws SQLException {
+        Instant firstNight = Instant.parse("2030-01-01T00:00:00Z");
+        try (PreparedStatement room = connection.prepareStatement(
+                     "INSERT INTO rooms (room_number, room_name, type, price_per_night, status) VALUES (?, ?, 'Standard', 2500, 'AVAILABLE')");
+             PreparedStatement guest = connection.prepareStatement(
+                     "INSERT INTO guests (id, full_name, mobile_number) VALUES (?, ?, ?)");
+             PreparedStatement booking = connection.prepareStatement(
+                     "INSERT INTO bookings (id, guest_id, room_id, check_in_date, check_out_date, status, total_amount) VALUES (?, ?, ?, ?, ?, ?, 5000)");
+             PreparedStatement payment = connection.prepareStatement(
+                     "INSERT INTO payments (id, booking_id, advance_amount, type) VALUES (?, ?, 1000, 'ADVANCE')")) {
+            for (int i = 1; i <= 20; i++) {
+                room.setString(1, String.valueOf(100 + i));
+                room.setString(2, "Room " + (100 + i));
+                room.executeUpdate();
+            }
+            long roomIdBase = firstRoomId(connection) - 1;
+
+            long id = 1;
+            for (int roomIndex = 1; roomIndex <= 20; roomIndex++) {
+                for (int night = 0; night < 360; night += 3) {
+                    guest.setLong(1, id);
+                    guest.setString(2, "Guest " + id);
+                    guest.setString(3, String.format("98%08d", id));
+                    guest.executeUpdate();
+
+                    Instant checkIn = firstNight.plus(night, ChronoUnit.DAYS);
+                    booking.setLong(1, id);
+                    booking.setLong(2, id);
+                    booking.setLong(3, roomIdBase + roomIndex);
+                    booking.setTimestamp(4, Timestamp.from(checkIn));
+                    booking.setTimestamp(5, Timestamp.from(checkIn.plus(2, ChronoUnit.DAYS)));
+                    booking.setString(6, id % 4 == 0 ? "CANCELLED" : "CONFIRMED");
+                    booking.executeUpdate();
+
+                    payment.setLong(1, id);
+                    payment.setLong(2, id);
+                    payment.executeUpdate();
+                    id++;
+                }
+            }
+        }
+    }
+
+    private static long firstRoomId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MIN(id) FROM rooms")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String explain(Connection connection, String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains(index), "Expected " + index + " in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,208 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.Guest;
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.BookingDTO;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.GuestRepository;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class BookingConcurrencyStressTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingConcurrencyStressTest.class);
+
+    private static final int ROOMS = 4;
+    private static final int WRITERS = 64;
+    private static final int ATTEMPTS_PER_WRITER = 10;
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Room> rooms = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        cleanUp();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomNumber("S" + i);
+            room.setType("Standard");
+            room.setPricePerNight(BigDecimal.valueOf(100));
+            room.setStatus("AVAILABLE");
+            room.setRoomName("Stress room " + i);
+            rooms.add(roomRepository.save(room));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        bookingRepository.deleteAll();
+        guestRepository.deleteAll();
+        roomRepository.deleteAll();
+        rooms.clear();
+    }
+
+    @Test
+    public void concurrentWritersNeverDoubleBookARoom() throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int writerId = writer;
+            writers.submit(() -> {
+                Random random = new Random(writerId);
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_WRITER; attempt++) {
+                    LocalDate checkIn = FIRST_NIGHT.plusDays(random.nextInt(30));
+                    BookingDTO dto = bookingDTO(rooms.get((writerId + attempt) % ROOMS).getRoomNumber(),
+                            checkIn, checkIn.plusDays(1 + random.nextInt(3)));
+                    try {
+                        bookingService.createBooking(dto);
+                        created.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        if (e.getMessage() != null && e.getMessage().contains("is not available")) {
+                            rejected.incrementAndGet();
+                        } else {
+                            unexpected.add(e);
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(2, TimeUnit.MINUTES), "Writers did not finish in time");
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        int attempts = WRITERS * ATTEMPTS_PER_WRITER;
+        logger.info("{} writers, {} attempts: {} created, {} rejected in {} s ({} writes/s)",
+                WRITERS, attempts, created.get(), rejected.get(), String.format("%.2f", seconds), Math.round(attempts / seconds));
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(attempts, created.get() + rejected.get());
+        assertTrue(created.get() >= ROOMS, "Too few bookings got through: " + created.get());
+
+        Map<Long, List<Booking>> bookingsByRoom = bookingRepository.findAll().stream()
+                .filter(booking -> "CONFIRMED".equals(booking.getStatus()))
+                .collect(Collectors.groupingBy(booking -> booking.getRoom().getId()));
+        assertEquals(created.get(), bookingsByRoom.values().stream().mapToInt(List::size).sum());
+
+        for (List<Booking> roomBookings : bookingsByRoom.values()) {
+            roomBookings.sort(Comparator.comparing(Booking::getCheckInDate));
+            for (int i = 1; i < roomBookings.size(); i++) {
+                Booking previous = roomBookings.get(i - 1);
+                Booking next = roomBookings.get(i);
+                assertTrue(!next.getCheckInDate().isBefore(previous.getCheckOutDate()),
+                        "Double booking: " + previous.getId() + " and " + next.getId());
+            }
+        }
+    }
+
+    @Test
+    public void roomRowLockSerializesWritersThatDoNotShareTheStripes() throws Exception {
+        // The "other instance" takes the row lock directly, never touching this instance's stripes
+        Room room = rooms.get(0);
+        CountDownLatch locked = new CountDownLatch(1);
+        AtomicBoolean otherCommitted = new AtomicBoolean();
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+        Future<?> other = otherInstance.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            roomRepository.lockRooms(List.of(room.getId()));
+            locked.countDown();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            Guest guest = new Guest();
+            guest.setFullName("Other Instance Guest");
+            guest.setMobileNumber("9000000000");
+            Booking booking = new Booking();
+            booking.setRoom(room);
+            booking.setGuest(guestRepository.save(guest));
+            booking.setCheckInDate(FIRST_NIGHT.atStartOfDay().toInstant(ZoneOffset.UTC));
+            booking.setCheckOutDate(FIRST_NIGHT.plusDays(2).atStartOfDay().toInstant(ZoneOffset.UTC));
+            booking.setStatus("CONFIRMED");
+            booking.setTotalAmount(BigDecimal.valueOf(200));
+            bookingRepository.save(booking);
+            otherCommitted.set(true);
+        }));
+        otherInstance.shutdown();
+        assertTrue(locked.await(10, TimeUnit.SECONDS), "Other instance never took the row lock");
+
+        // Free stripe here, so only the FOR UPDATE in the booking transaction can keep this out
+        RuntimeException rejected = assertThrows(RuntimeException.class, () ->
+                bookingService.createBooking(bookingDTO(room.getRoomNumber(), FIRST_NIGHT.plusDays(1), FIRST_NIGHT.plusDays(3))));
+        assertTrue(rejected.getMessage().contains("is not available"), rejected.getMessage());
+        assertTrue(otherCommitted.get(), "Booking was checked before the other instance committed");
+        other.get(10, TimeUnit.SECONDS);
+        assertEquals(1, bookingRepository.count());
+    }
+
+    private BookingDTO bookingDTO(String roomNo, LocalDate checkIn, LocalDate checkOut) {
+        BookingDTO dto = new BookingDTO();
+        dto.setFullName("Stress Guest");
+        dto.setMobileNumber("9876543210");
+        dto.setRoomNo(roomNo);
+        dto.setCheckInDate(checkIn);
+        dto.setCheckOutDate(checkOut);
+        dto.setNightlyRate(BigDecimal.valueOf(100));
+        dto.setTotalAmount(BigDecimal.valueOf(100));
+        dto.setBookingSource("Direct");
+        dto.setAdvanceAmount(BigDecimal.ZERO);
+        dto.setPaymentMethod("Cash");
+        return dto;
+    }
+}
@@ -0,0 +1,131 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Booking;
+import com.karunavilla.booking_system.Entity.BookingOutboxEvent;
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.BookingDTO;
+import com.karunavilla.booking_system.model.BookingEvent;
+import com.karunavilla.booking_system.model.BookingEventType;
+import com.karunavilla.booking_system.repository.BookingOutboxRepository;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.GuestRepository;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class BookingOutboxIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingOutboxDispatcher dispatcher;
+
+    @Autowired
+    private RecordingBookingEventSender sender;
+
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @BeforeEach
+    public void setup() {
+        outboxRepository.deleteAllInBatch();
+        bookingRepository.deleteAll();
+        guestRepository.deleteAll();
+        roomRepository.deleteAll();
+        sender.reset();
+
+        Room room = new Room();
+        room.setRoomNumber("301");
+        room.setType("Standard");
+        room.setPricePerNight(BigDecimal.valueOf(100));
+        room.setStatus("AVAILABLE");
+        room.setRoomName("Room 301");
+        roomRepository.save(room);
+    }
+
+    @Test
+    public void eventsAreWrittenWithTheBookingAndRetriedUntilDelivered() {
+        Booking booking = bookingService.createBooking(bookingDTO());
+        List<BookingOutboxEvent> pending = outboxRepository.findAll();
+        assertEquals(1, pending.size());
+        assertEquals(BookingEventType.CREATED, pending.get(0).getEventType());
+        assertTrue(sender.getSent().isEmpty(), "Nothing is sent inside the booking request");
+
+        // A failed delivery stays in the outbox and is not due again until its backoff ends
+        sender.failNext(1);
+        dispatcher.dispatchDue();
+        BookingOutboxEvent retry = outboxRepository.findAll().get(0);
+        assertEquals(1, retry.getAttempts());
+        assertTrue(retry.getNextAttemptAt().isAfter(Instant.now()));
+        dispatcher.dispatchDue();
+        assertTrue(sender.getSent().isEmpty());
+
+        retry.setNextAttemptAt(Instant.now().minusSeconds(1));
+        outboxRepository.save(retry);
+        dispatcher.dispatchDue();
+        assertEquals(1, sender.getSent().size());
+        BookingEvent event = sender.getSent().get(0);
+        assertEquals(retry.getId(), event.getEventId());
+        assertEquals(booking.getId(), event.getBookingId());
+        assertEquals("301", event.getRoomNo());
+        assertEquals(0, outboxRepository.count());
+
+        bookingService.deleteBooking(booking.getId());
+        dispatcher.dispatchDue();
+        assertEquals(BookingEventType.DELETED, sender.getSent().get(1).getType());
+    }
+
+    @Test
+    public void rowsStayLeasedWhileAWholeBatchCouldTimeOut() {
+        bookingService.createBooking(bookingDTO());
+        Instant claimedAfter = Instant.now();
+        List<Instant> leasedUntil = new ArrayList<>();
+        sender.duringSend(event -> leasedUntil.add(outboxRepository.findById(event.getEventId()).orElseThrow().getNextAttemptAt()));
+        dispatcher.dispatchDue();
+
+        // 50 rows at the 10 s webhook timeout outlast the 2 minute minimum
+        assertEquals(1, leasedUntil.size());
+        assertTrue(!leasedUntil.get(0).isBefore(claimedAfter.plusSeconds(500)), "Leased only until " + leasedUntil.get(0));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    private static BookingDTO bookingDTO() {
+        BookingDTO dto = new BookingDTO();
+        dto.setFullName("Outbox Guest");
+        dto.setMobileNumber("9876543210");
+        dto.setEmailId("guest@example.com");
+        dto.setRoomNo("301");
+        dto.setCheckInDate(LocalDate.of(2027, 3, 1));
+        dto.setCheckOutDate(LocalDate.of(2027, 3, 3));
+        dto.setNightlyRate(BigDecimal.valueOf(100));
+        dto.setTotalAmount(BigDecimal.valueOf(200));
+        dto.setBookingSource("Direct");
+        dto.setAdvanceAmount(BigDecimal.ZERO);
+        dto.setPaymentMethod("Cash");
+        return dto;
+    }
+}
@@ -3,24 +3,58 @@ package com.karunavilla.booking_system.service;
 import com.karunavilla.booking_system.Entity.Booking;
 import com.karunavilla.booking_system.Entity.Guest;
 import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.config.SqlStatementCounter;
+import com.karunavilla.booking_system.model.AdditionalPay;
+import com.karunavilla.booking_system.model.AvailabilityCalendar;
+import com.karunavilla.booking_system.model.BatchBookingResult;
+import com.karunavilla.booking_system.model.BookingChanges;
+import com.karunavilla.booking_system.model.BookingDTO;
+import com.karunavilla.booking_system.model.BookingPage;
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import com.karunavilla.booking_system.model.BookingSearchRequest;
+import com.karunavilla.booking_system.model.CalendarCell;
+import com.karunavilla.booking_system.model.DailySourceStat;
+import com.karunavilla.booking_system.model.GuestContact;
+import com.karunavilla.booking_system.model.GuestSearchResult;
+import com.karunavilla.booking_system.model.OccupancyReport;
+import com.karunavilla.booking_system.model.OccupancyReportRow;
+import com.karunavilla.booking_system.model.ReportGrouping;
 import com.karunavilla.booking_system.model.RoomAvailabilityRequest;
 import com.karunavilla.booking_system.model.RoomAvailabilityResponse;
+import com.karunavilla.booking_system.model.RoomCalendar;
 import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.DailyRoomStatRepository;
 import com.karunavilla.booking_system.repository.GuestRepository;
 import com.karunavilla.booking_system.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
@@ -39,6 +73,54 @@ public class BookingServiceIntegrationTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private AvailabilityCalendarService availabilityCalendarService;
+
+    @Autowired
+    private BookingChangeFeedService bookingChangeFeedService;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private PaymentTotalsChecker paymentTotalsChecker;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private GuestMergeService guestMergeService;
+
+    @Autowired
+    private GuestSearchService guestSearchService;
+
+    @Autowired
+    private BookingChargeBackfill bookingChargeBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DailyRoomStatsService dailyRoomStatsService;
+
+    @Autowired
+    private DailyRoomStatRepository dailyRoomStatRepository;
+
+    @Autowired
+    private OccupancyReportService occupancyReportService;
+
+    @Autowired
+    private CheckoutSweeper checkoutSweeper;
+
+    @Autowired
+    private RemoteChangeWatcher remoteChangeWatcher;
+
+    @Autowired
+    private RoomCatalogCache roomCatalog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     private Room room101;
     private Room room102;
 
@@ -47,6 +129,7 @@ public class BookingServiceIntegrationTest {
         bookingRepository.deleteAll();
         guestRepository.deleteAll();
         roomRepository.deleteAll();
+        dailyRoomStatRepository.deleteAllInBatch();
 
         room101 = new Room();
         room101.setRoomNumber("101");
@@ -169,6 +252,540 @@ public class BookingServiceIntegrationTest {
             "Room 101 should be available because the booking is CANCELLED");
     }
 
+    @Test
+    public void testUncommittedBookingsStayOutOfTheOccupancyIndex() {
+        RoomAvailabilityRequest request = new RoomAvailabilityRequest();
+        request.setStartDate(LocalDate.of(2027, 5, 1));
+        request.setEndDate(LocalDate.of(2027, 5, 3));
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingService.createBooking(bookingDTO("101", LocalDate.of(2027, 5, 1), LocalDate.of(2027, 5, 2)));
+            // Other readers must not see a booking that may still roll back; the writer sees it through the overlap query
+            assertEquals(2, CompletableFuture.supplyAsync(() -> bookingService.getRoomsAvailable(request)).join().size());
+            assertEquals(1, bookingService.getRoomsAvailable(request).size());
+            status.setRollbackOnly();
+        });
+        assertEquals(2, bookingService.getRoomsAvailable(request).size());
+    }
+
+    @Test
+    public void testOccupancyIndexFollowsServiceWrites() {
+        Booking booking = bookingService.createBooking(bookingDTO("101", LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 13)));
+
+        RoomAvailabilityRequest overlapping = new RoomAvailabilityRequest();
+        overlapping.setStartDate(LocalDate.of(2026, 3, 12));
+        overlapping.setEndDate(LocalDate.of(2026, 3, 14));
+        assertFalse(bookingService.getRoomsAvailable(overlapping).stream().anyMatch(r -> r.getRoomNumber().equals("101")),
+            "Room 101 should be taken while the booking exists");
+
+        bookingService.deleteBooking(booking.getId());
+        assertTrue(bookingService.getRoomsAvailable(overlapping).stream().anyMatch(r -> r.getRoomNumber().equals("101")),
+            "Room 101 should be free again once the booking is deleted");
+    }
+
+    @Test
+    @Transactional
+    public void testBookingDetailsKeysetPagination() {
+        createBooking(room101, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 2));
+        createBooking(room102, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 3));
+        createBooking(room101, LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 6));
+
+        BookingSearchRequest firstRequest = new BookingSearchRequest();
+        firstRequest.setLimit(2);
+        BookingPage first = bookingService.getBookingDetails(firstRequest);
+        assertEquals(2, first.getBookings().size());
+        assertNotNull(first.getNextCursor());
+
+        BookingSearchRequest secondRequest = new BookingSearchRequest();
+        secondRequest.setLimit(2);
+        secondRequest.setCursor(first.getNextCursor());
+        BookingPage second = bookingService.getBookingDetails(secondRequest);
+        assertEquals(1, second.getBookings().size());
+        assertNull(second.getNextCursor());
+        assertEquals(LocalDate.of(2026, 1, 5).atStartOfDay().toInstant(ZoneOffset.UTC), second.getBookings().get(0).getCheckInDate());
+        assertEquals(0, BigDecimal.TEN.compareTo(second.getBookings().get(0).getBalance()));
+
+        BookingSearchRequest roomRequest = new BookingSearchRequest();
+        roomRequest.setRoomNo("102");
+        assertEquals(1, bookingService.getBookingDetails(roomRequest).getBookings().size());
+    }
+
+    @Test
+    @Transactional
+    public void testBookingDetailsIssueASingleStatement() {
+        createBooking(room101, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 2));
+        createBooking(room102, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 3));
+        createBooking(room101, LocalDate.of(2026, 2, 5), LocalDate.of(2026, 2, 6));
+        bookingRepository.flush();
+
+        SqlStatementCounter.start();
+        List<BookingResponseDTO> bookings = bookingService.getAllBookingDetails();
+        int statements = SqlStatementCounter.stop();
+
+        assertEquals(3, bookings.size());
+        assertEquals(1, statements, "Booking list should not issue a query per booking");
+    }
+
+    @Test
+    @Transactional
+    public void testBookingDetailsByIdAreReadWithoutEntities() {
+        Booking booking = bookingService.createBooking(bookingDTO("102", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3)));
+        entityManager.flush();
+        entityManager.clear();
+
+        SqlStatementCounter.start();
+        BookingDTO details = bookingService.getBookingDetailsById(booking.getId());
+        int statements = SqlStatementCounter.stop();
+
+        assertEquals("102", details.getRoomNo());
+        assertEquals(LocalDate.of(2026, 3, 3), details.getCheckOutDate());
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(details.getAdvanceAmount()));
+        assertEquals("UPI", details.getPaymentMethod());
+        assertEquals(1, statements);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @Transactional
+    public void testCalendarGridMarksBookedNights() {
+        createBooking(room101, LocalDate.of(2026, 5, 30), LocalDate.of(2026, 6, 3)); // starts before the window
+        createBooking(room102, LocalDate.of(2026, 6, 2), LocalDate.of(2026, 6, 4));
+        Booking cancelled = bookingRepository.findAll().stream()
+            .filter(booking -> booking.getRoom().getId().equals(room102.getId()))
+            .findFirst().orElseThrow();
+        cancelled.setStatus("CANCELLED");
+        bookingRepository.save(cancelled);
+        createBooking(room102, LocalDate.of(2026, 6, 4), LocalDate.of(2026, 6, 6));
+
+        AvailabilityCalendar calendar = availabilityCalendarService.getCalendar(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 6));
+
+        assertEquals(List.of("101", "102"), calendar.getRooms().stream().map(RoomCalendar::getRoomNumber).toList());
+        List<CalendarCell> nights101 = calendar.getRooms().get(0).getNights();
+        List<CalendarCell> nights102 = calendar.getRooms().get(1).getNights();
+        assertEquals(5, nights101.size());
+        assertNotNull(nights101.get(0));
+        assertNotNull(nights101.get(1));
+        assertNull(nights101.get(2));
+        assertEquals("TG", nights101.get(0).getGuestInitials());
+        assertNull(nights102.get(1)); // cancelled booking leaves the night free
+        assertNull(nights102.get(2));
+        assertEquals("CONFIRMED", nights102.get(3).getStatus());
+        assertEquals(nights102.get(3).getBookingId(), nights102.get(4).getBookingId());
+    }
+
+    @Test
+    public void testChangeFeedReportsChangesAndDeletions() {
+        createBooking(room101, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 2));
+        BookingChanges initial = bookingChangeFeedService.getChanges(null);
+        assertTrue(initial.isFullSync());
+        assertEquals(1, initial.getChanged().size());
+        Long deletedId = initial.getChanged().get(0).getId();
+
+        bookingService.deleteBooking(deletedId);
+        createBooking(room102, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 2));
+
+        BookingChanges changes = bookingChangeFeedService.getChanges(initial.getNextToken());
+        assertFalse(changes.isFullSync());
+        assertEquals(List.of(deletedId), changes.getDeleted());
+        assertEquals(1, changes.getChanged().size());
+        assertEquals("102", changes.getChanged().get(0).getRoom());
+        assertNotNull(changes.getNextToken());
+
+        assertThrows(IllegalArgumentException.class, () -> bookingChangeFeedService.getChanges("not-a-token"));
+    }
+
+    @Test
+    public void testFullSyncIsPagedThenHandsOverToTheChangesMadeMeanwhile() {
+        Object feed = AopTestUtils.getTargetObject(bookingChangeFeedService);
+        Object pageSize = ReflectionTestUtils.getField(feed, "pageSize");
+        ReflectionTestUtils.setField(feed, "pageSize", 2);
+        try {
+            createBooking(room101, LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 2));
+            createBooking(room101, LocalDate.of(2026, 8, 3), LocalDate.of(2026, 8, 4));
+            createBooking(room102, LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 2));
+
+            BookingChanges first = bookingChangeFeedService.getChanges(null);
+            assertTrue(first.isFullSync());
+            assertTrue(first.isMore());
+            assertEquals(2, first.getChanged().size());
+
+            // Booked while the client is still paging
+            createBooking(room102, LocalDate.of(2026, 8, 5), LocalDate.of(2026, 8, 6));
+            Long latestId = bookingRepository.findAll().stream().map(Booking::getId).max(Long::compare).orElseThrow();
+
+            BookingChanges second = bookingChangeFeedService.getChanges(first.getNextToken());
+            assertEquals(2, second.getChanged().size());
+            BookingChanges last = bookingChangeFeedService.getChanges(second.getNextToken());
+            assertTrue(last.isFullSync());
+            assertFalse(last.isMore());
+            assertTrue(last.getChanged().isEmpty());
+
+            BookingChanges changes = bookingChangeFeedService.getChanges(last.getNextToken());
+            assertFalse(changes.isFullSync());
+            assertEquals(List.of(latestId), changes.getChanged().stream().map(BookingResponseDTO::getId).toList());
+        } finally {
+            ReflectionTestUtils.setField(feed, "pageSize", pageSize);
+        }
+    }
+
+    @Test
+    public void testDataVersionMovesOnlyAfterCommittedWrites() {
+        long before = dataVersion.current();
+        bookingService.createBooking(bookingDTO("101", LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 3)));
+        long afterCommit = dataVersion.current();
+        assertTrue(afterCommit > before);
+
+        assertThrows(RuntimeException.class,
+            () -> bookingService.createBooking(bookingDTO("101", LocalDate.of(2026, 8, 2), LocalDate.of(2026, 8, 4))));
+        assertEquals(afterCommit, dataVersion.current());
+    }
+
+    @Test
+    @Transactional
+    public void testBatchCreationReportsConflictsPerItem() {
+        createBooking(room102, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 3));
+
+        List<BatchBookingResult> results = bookingService.createBookings(List.of(
+            bookingDTO("101", LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 4)),
+            bookingDTO("101", LocalDate.of(2026, 4, 3), LocalDate.of(2026, 4, 5)), // overlaps the first item
+            bookingDTO("102", LocalDate.of(2026, 4, 2), LocalDate.of(2026, 4, 4)), // overlaps an existing booking
+            bookingDTO("999", LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 2)), // unknown room
+            bookingDTO("102", LocalDate.of(2026, 4, 3), LocalDate.of(2026, 4, 6))));
+
+        assertEquals(List.of("CREATED", "REJECTED", "REJECTED", "REJECTED", "CREATED"),
+            results.stream().map(BatchBookingResult::getStatus).toList());
+        assertTrue(bookingRepository.findById(results.get(4).getBookingId()).isPresent());
+    }
+
+    @Test
+    @Transactional
+    public void testPaymentTotalsFollowPaymentWrites() {
+        // 3 nights at 100 with 50 paid up front
+        Booking booking = bookingService.createBooking(bookingDTO("101", LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 4)));
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(booking.getTotalPaid()));
+        assertEquals(0, BigDecimal.valueOf(250).compareTo(booking.getBalance()));
+
+        BookingDTO update = bookingDTO("101", LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 4));
+        update.setAdvanceAmount(BigDecimal.valueOf(120));
+        bookingService.updateBooking(booking.getId(), update);
+        BookingResponseDTO summary = bookingRepository.findBookingSummariesByIds(List.of(booking.getId())).get(0);
+        assertEquals(0, BigDecimal.valueOf(120).compareTo(summary.getTotalPaid()));
+        assertEquals(0, BigDecimal.valueOf(180).compareTo(summary.getBalance()));
+
+        // Drift the stored total behind the service's back and let the checker put it right
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        stored.setTotalPaid(BigDecimal.ZERO);
+        bookingRepository.saveAndFlush(stored);
+        assertEquals(List.of(booking.getId()), bookingRepository.findIdsWithInconsistentPaymentTotals());
+
+        paymentTotalsChecker.repairPaymentTotals();
+        bookingRepository.flush();
+        assertTrue(bookingRepository.findIdsWithInconsistentPaymentTotals().isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void testDailyStatsFollowBookingWritesAndMatchARebuild() {
+        Booking direct = bookingService.createBooking(bookingDTO("101", LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 4)));
+        BookingDTO airbnb = bookingDTO("102", LocalDate.of(2026, 7, 3), LocalDate.of(2026, 7, 4));
+        airbnb.setBookingSource("Airbnb");
+        airbnb.setNightlyRate(BigDecimal.valueOf(80));
+        bookingService.createBooking(airbnb);
+        // The direct stay loses its last night
+        bookingService.updateBooking(direct.getId(), bookingDTO("101", LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 3)));
+
+        OccupancyReport byDay = occupancyReportService.getReport(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 5), ReportGrouping.DAY);
+        assertEquals(List.of(1L, 1L, 1L, 0L), byDay.getRows().stream().map(OccupancyReportRow::getRoomNightsSold).toList());
+        OccupancyReportRow thirdOfJuly = byDay.getRows().get(2);
+        assertEquals("2026-07-03", thirdOfJuly.getPeriod());
+        assertEquals(0, new BigDecimal("50").compareTo(thirdOfJuly.getOccupancyPercent()));
+        assertEquals(0, new BigDecimal("80").compareTo(thirdOfJuly.getAdr()));
+        assertEquals(0, new BigDecimal("40").compareTo(thirdOfJuly.getRevpar()));
+
+        OccupancyReport bySource = occupancyReportService.getReport(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1), ReportGrouping.SOURCE);
+        assertEquals(List.of("Airbnb", "Direct"), bySource.getRows().stream().map(OccupancyReportRow::getPeriod).toList());
+        assertEquals(62, bySource.getRows().get(1).getRoomNightsAvailable());
+        assertEquals(0, new BigDecimal("200").compareTo(bySource.getRows().get(1).getRoomRevenue()));
+
+        List<DailySourceStat> incremental = soldDays(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1));
+        dailyRoomStatsService.rebuild();
+        assertEquals(incremental, soldDays(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1)));
+
+        bookingService.deleteBooking(direct.getId());
+        assertEquals(1, soldDays(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1)).size());
+    }
+
+    @Test
+    @Transactional
+    public void testRepeatGuestsShareOneRowAndDuplicatesAreMerged() {
+        Booking first = bookingService.createBooking(bookingDTO("101", LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 3)));
+        BookingDTO again = bookingDTO("102", LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 2));
+        again.setMobileNumber("+91 98765-43210");
+        Booking second = bookingService.createBooking(again);
+        assertEquals(first.getGuest().getId(), second.getGuest().getId());
+
+        // One guest row per booking, as written before the lookup existed
+        createBooking(room101, LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 2));
+        createBooking(room102, LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 2));
+        assertEquals(3, guestRepository.count());
+
+        guestMergeService.mergeDuplicateGuests();
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(2, guestRepository.count());
+        assertEquals(2, bookingRepository.findAll().stream().map(booking -> booking.getGuest().getId()).distinct().count());
+
+        bookingService.deleteBooking(second.getId());
+        assertEquals(2, guestRepository.count());
+    }
+
+    @Test
+    @Transactional
+    public void testRepeatMobileTakesTheNewDetailsAndUpdatesRepointOnlyTheirBooking() {
+        Booking first = bookingService.createBooking(bookingDTO("101", LocalDate.of(2027, 4, 1), LocalDate.of(2027, 4, 3)));
+        BookingDTO again = bookingDTO("102", LocalDate.of(2027, 4, 1), LocalDate.of(2027, 4, 2));
+        again.setFullName("Service Guest Senior");
+        again.setEmailId("senior@example.com");
+        Booking second = bookingService.createBooking(again);
+        Guest guest = second.getGuest();
+        assertEquals(first.getGuest().getId(), guest.getId());
+        assertEquals("Service Guest Senior", guest.getFullName());
+        assertEquals("senior@example.com", guest.getEmail());
+
+        // A different number on one booking moves that booking to another guest, leaving the first alone
+        BookingDTO otherNumber = bookingDTO("102", LocalDate.of(2027, 4, 1), LocalDate.of(2027, 4, 2));
+        otherNumber.setMobileNumber("9000000009");
+        bookingService.updateBooking(second.getId(), otherNumber);
+        Guest moved = bookingRepository.findById(second.getId()).orElseThrow().getGuest();
+        assertNotEquals(guest.getId(), moved.getId());
+        assertEquals("9000000009", moved.getMobileNumber());
+        assertEquals("Service Guest Senior", guestRepository.findById(guest.getId()).orElseThrow().getFullName());
+        assertEquals("9876543210", bookingRepository.findById(first.getId()).orElseThrow().getGuest().getMobileNumber());
+
+        BookingDTO backAgain = bookingDTO("102", LocalDate.of(2027, 4, 1), LocalDate.of(2027, 4, 2));
+        backAgain.setMobileNumber("98765 43210");
+        bookingService.updateBooking(second.getId(), backAgain);
+        assertEquals(guest.getId(), bookingRepository.findById(second.getId()).orElseThrow().getGuest().getId());
+        assertEquals(2, guestRepository.count());
+    }
+
+    @Test
+    public void testGuestSearchMatchesNamesAndNumbersWithTheLatestBooking() {
+        bookingService.createBooking(bookingDTO("101", LocalDate.of(2026, 11, 1), LocalDate.of(2026, 11, 3)));
+        Booking latest = bookingService.createBooking(bookingDTO("102", LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 2)));
+        BookingDTO other = bookingDTO("101", LocalDate.of(2026, 12, 10), LocalDate.of(2026, 12, 12));
+        other.setFullName("Servio Mendes");
+        other.setMobileNumber("9123456780");
+        bookingService.createBooking(other);
+
+        List<GuestSearchResult> byName = guestSearchService.search("service gu", null);
+        assertEquals(1, byName.size());
+        assertEquals(latest.getId(), byName.get(0).getLatestBooking().getId());
+        assertEquals(2, guestSearchService.search("SERV", null).size());
+        assertEquals("Servio Mendes", guestSearchService.search("+91 91234", null).get(0).getFullName());
+        assertTrue(guestSearchService.search("nobody", null).isEmpty());
+    }
+
+    @Test
+    public void testGuestSearchLooksAtExactTermsThenTheNewestGuests() {
+        // More prefix matches than the index looks at: the newest must still be among them
+        List<GuestContact> contacts = new ArrayList<>();
+        contacts.add(new GuestContact(1L, "Sa Oldest", null, null));
+        for (long id = 2; id <= 2_500; id++) {
+            contacts.add(new GuestContact(id, "Samuel " + id, null, null));
+        }
+        GuestSearchIndex index = new GuestSearchIndex();
+        index.rebuild(() -> contacts);
+
+        List<Long> found = index.search("sa", 3).stream().map(GuestContact::getGuestId).toList();
+        assertEquals(List.of(1L, 2_500L, 2_499L), found);
+    }
+
+    @Test
+    @Transactional
+    public void testAdditionalChargesAreStoredAsRows() {
+        BookingDTO dto = bookingDTO("101", LocalDate.of(2027, 2, 1), LocalDate.of(2027, 2, 3));
+        dto.setAdditionalCharges(List.of(new AdditionalPay("Food", new BigDecimal("450.00")),
+                new AdditionalPay("Laundry", new BigDecimal("120.00"))));
+        Booking booking = bookingService.createBooking(dto);
+        assertEquals(0, new BigDecimal("770").compareTo(booking.getTotalAmount()));
+        assertEquals(List.of("Food", "Laundry"),
+                bookingService.getBookingDetailsById(booking.getId()).getAdditionalCharges().stream().map(AdditionalPay::getCategory).toList());
+
+        // Moving the stay keeps the stored charges in the total
+        BookingDTO update = bookingDTO("101", LocalDate.of(2027, 2, 1), LocalDate.of(2027, 2, 4));
+        bookingService.updateBooking(booking.getId(), update);
+        assertEquals(0, new BigDecimal("870").compareTo(bookingRepository.findById(booking.getId()).orElseThrow().getTotalAmount()));
+
+        // Charges written as JSON on a payment by older builds move over to rows
+        Long paymentId = bookingRepository.findById(booking.getId()).orElseThrow().getPayments().get(0).getId();
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE payments SET additional_amount = ? WHERE id = ?",
+                "[{\"category\":\"Minibar\",\"amount\":75.5}]", paymentId);
+        bookingChargeBackfill.moveChargesOffPayments();
+        entityManager.flush();
+        assertEquals(3, bookingService.getBookingDetailsById(booking.getId()).getAdditionalCharges().size());
+        assertNull(jdbcTemplate.queryForObject("SELECT additional_amount FROM payments WHERE id = ?", String.class, paymentId));
+    }
+
+    @Test
+    @Transactional
+    public void testChargeBackfillMovesEachPaymentsJsonOnce() {
+        Booking list = bookingService.createBooking(bookingDTO("101", LocalDate.of(2027, 6, 1), LocalDate.of(2027, 6, 3)));
+        Booking single = bookingService.createBooking(bookingDTO("102", LocalDate.of(2027, 6, 1), LocalDate.of(2027, 6, 3)));
+        Booking unreadable = bookingService.createBooking(bookingDTO("101", LocalDate.of(2027, 6, 5), LocalDate.of(2027, 6, 6)));
+        entityManager.flush();
+        Long listPayment = paymentIdOf(list);
+        Long unreadablePayment = paymentIdOf(unreadable);
+        jdbcTemplate.update("UPDATE payments SET additional_amount = ? WHERE id = ?",
+                "[{\"category\":\"Food\",\"amount\":450},{\"category\":\"Laundry\",\"amount\":120.5}]", listPayment);
+        jdbcTemplate.update("UPDATE payments SET additional_amount = ? WHERE id = ?",
+                " {\"category\":\"Minibar\",\"amount\":75} ", paymentIdOf(single));
+        jdbcTemplate.update("UPDATE payments SET additional_amount = ? WHERE id = ?", "75 rupees", unreadablePayment);
+
+        // A second instance starting up finds nothing left to move
+        bookingChargeBackfill.moveChargesOffPayments();
+        bookingChargeBackfill.moveChargesOffPayments();
+        entityManager.flush();
+
+        List<String> rows = jdbcTemplate.query("SELECT booking_id, category, amount FROM booking_charges ORDER BY id",
+                (rs, rowNum) -> rs.getLong("booking_id") + ":" + rs.getString("category") + ":" + rs.getBigDecimal("amount"));
+        assertEquals(List.of(list.getId() + ":Food:450.00", list.getId() + ":Laundry:120.50", single.getId() + ":Minibar:75.00"), rows);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments WHERE additional_amount IS NOT NULL AND id <> ?",
+                Integer.class, unreadablePayment));
+        assertEquals("75 rupees", jdbcTemplate.queryForObject("SELECT additional_amount FROM payments WHERE id = ?",
+                String.class, unreadablePayment));
+    }
+
+    private Long paymentIdOf(Booking booking) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM payments WHERE booking_id = ?", Long.class, booking.getId());
+    }
+
+    @Test
+    public void testRoomCatalogCacheCountsEvictsAndHandsOutCopies() {
+        RoomCatalogCache cache = new RoomCatalogCache(2);
+        ReflectionTestUtils.setField(cache, "roomRepository", roomRepository);
+        Room room103 = new Room();
+        room103.setRoomNumber("103");
+        room103.setStatus("AVAILABLE");
+        room103 = roomRepository.save(room103);
+
+        cache.findById(room101.getId());
+        cache.findByRoomNumber("101");
+        cache.findById(room102.getId());
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(2, cache.getStats().getMisses());
+
+        // 101 is the least recently used of the three and goes when 103 arrives
+        cache.findById(room102.getId());
+        cache.findById(room101.getId());
+        cache.findById(room102.getId());
+        cache.findById(room103.getId());
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+        long misses = cache.getStats().getMisses();
+        cache.findByRoomNumber("101");
+        assertEquals(misses + 1, cache.getStats().getMisses());
+
+        Room handedOut = cache.findById(room102.getId()).orElseThrow();
+        handedOut.setStatus("DIRTY");
+        assertEquals("AVAILABLE", cache.findById(room102.getId()).orElseThrow().getStatus());
+        assertEquals("AVAILABLE", cache.findAll().stream().filter(room -> room.getRoomNumber().equals("102")).findFirst().orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testRoomStatusChangesReachTheRoomCatalog() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        bookingService.createBooking(bookingDTO("101", today.plusDays(10), today.plusDays(12)));
+        Long bookingId = bookingRepository.findAll().get(0).getId();
+        assertEquals("AVAILABLE", roomCatalog.findByRoomNumber("102").orElseThrow().getStatus());
+
+        // Moving the booking frees 101 and books 102 through the entity listener
+        bookingService.updateBooking(bookingId, bookingDTO("102", today.plusDays(10), today.plusDays(12)));
+        assertEquals("BOOKED", roomCatalog.findByRoomNumber("102").orElseThrow().getStatus());
+        assertEquals("AVAILABLE", roomCatalog.findByRoomNumber("101").orElseThrow().getStatus());
+
+        // The sweep frees 102 with a bulk update once the stay is over
+        jdbcTemplate.update("UPDATE bookings SET check_in_date = ?, check_out_date = ? WHERE id = ?",
+                Timestamp.from(today.minusDays(3).atStartOfDay().toInstant(ZoneOffset.UTC)),
+                Timestamp.from(today.minusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC)), bookingId);
+        checkoutSweeper.sweepExpired(Instant.now());
+        assertEquals("AVAILABLE", roomCatalog.findByRoomNumber("102").orElseThrow().getStatus());
+
+        // A room changed through another instance, seen on the next poll
+        remoteChangeWatcher.poll();
+        jdbcTemplate.update("UPDATE rooms SET status = 'DIRTY' WHERE id = ?", room101.getId());
+        jdbcTemplate.update("UPDATE data_version SET version = version + 1, modified_at = modified_at + 1 WHERE id = 1");
+        remoteChangeWatcher.poll();
+        assertEquals("DIRTY", roomCatalog.findByRoomNumber("101").orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testBookingsWrittenByAnotherInstanceReachTheOccupancyIndex() {
+        RoomAvailabilityRequest request = new RoomAvailabilityRequest();
+        request.setStartDate(LocalDate.of(2027, 3, 1));
+        request.setEndDate(LocalDate.of(2027, 3, 3));
+        assertEquals(2, bookingService.getRoomsAvailable(request).size());
+        remoteChangeWatcher.poll();
+
+        // What another instance's createBooking leaves behind: the rows and a bump of the shared version
+        Guest guest = new Guest();
+        guest.setFullName("Remote Guest");
+        guest = guestRepository.save(guest);
+        remoteChangeWatcher.poll();
+        jdbcTemplate.update("INSERT INTO bookings (id, guest_id, room_id, check_in_date, check_out_date, status, total_amount) " +
+                "VALUES (990001, ?, ?, TIMESTAMP WITH TIME ZONE '2027-03-01 00:00:00+00', TIMESTAMP WITH TIME ZONE '2027-03-02 00:00:00+00', 'CONFIRMED', 100)",
+                guest.getId(), room101.getId());
+        jdbcTemplate.update("UPDATE data_version SET version = version + 1, modified_at = modified_at + 1 WHERE id = 1");
+
+        remoteChangeWatcher.poll();
+        assertEquals(List.of("102"), bookingService.getRoomsAvailable(request).stream().map(RoomAvailabilityResponse::getRoomNumber).toList());
+    }
+
+    @Test
+    public void testCheckoutSweepChecksOutExpiredStaysAndFreesIdleRooms() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        room101.setStatus("BOOKED");
+        room102.setStatus("BOOKED");
+        roomRepository.saveAll(List.of(room101, room102));
+        createBooking(room101, today.minusDays(5), today.minusDays(2));
+        createBooking(room102, today.minusDays(4), today.minusDays(1));
+        // Someone is in 102 now, so it stays BOOKED
+        createBooking(room102, today.minusDays(1), today.plusDays(1));
+
+        long versionBefore = dataVersion.current();
+        CheckoutSweeper.SweepResult result = checkoutSweeper.sweepExpired(Instant.now());
+        // The bulk updates bypass the listeners; the shared version still moves, so other instances notice
+        assertTrue(dataVersion.current() > versionBefore);
+
+        assertEquals(2, result.bookings);
+        assertEquals(1, result.rooms);
+        assertEquals(List.of("CHECKED_OUT", "CHECKED_OUT", "CONFIRMED"), bookingRepository.findAll().stream()
+                .sorted(Comparator.comparing(Booking::getCheckInDate)).map(Booking::getStatus).toList());
+        assertEquals("AVAILABLE", roomRepository.findById(room101.getId()).orElseThrow().getStatus());
+        assertEquals("BOOKED", roomRepository.findById(room102.getId()).orElseThrow().getStatus());
+        assertEquals(0, checkoutSweeper.sweepExpired(Instant.now()).chunks);
+    }
+
+    // Days an update emptied keep a zero row until the next rebuild
+    private List<DailySourceStat> soldDays(LocalDate from, LocalDate to) {
+        return dailyRoomStatRepository.findBetween(from, to).stream().filter(day -> day.getRoomsSold() != 0).toList();
+    }
+
+    private BookingDTO bookingDTO(String roomNo, LocalDate checkIn, LocalDate checkOut) {
+        BookingDTO dto = new BookingDTO();
+        dto.setFullName("Service Guest");
+        dto.setMobileNumber("9876543210");
+        dto.setRoomNo(roomNo);
+        dto.setCheckInDate(checkIn);
+        dto.setCheckOutDate(checkOut);
+        dto.setNightlyRate(BigDecimal.valueOf(100));
+        dto.setTotalAmount(BigDecimal.valueOf(300));
+        dto.setBookingSource("Direct");
+        dto.setAdvanceAmount(BigDecimal.valueOf(50));
+        dto.setPaymentMethod("UPI");
+        return dto;
+    }
+
     private void createBooking(Room room, LocalDate checkIn, LocalDate checkOut) {
         Guest guest = new Guest();
         guest.setFullName("Test Guest");
@@ -0,0 +1,53 @@
+package com.karunavilla.booking_system.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DatabaseWarmupIntegrationTest {
+
+    @Autowired
+    private DatabaseWarmup databaseWarmup;
+
+    @Autowired
+    private HikariDataSource pool;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void warmupRunsBesideRequestsHoldingAllButOneConnection() throws Exception {
+        long runsBefore = meterRegistry.get("booking.warmup").tag("phase", "startup").timer().count();
+        List<Connection> requests = new ArrayList<>();
+        try {
+            for (int i = 0; i < pool.getMaximumPoolSize() - 1; i++) {
+                requests.add(pool.getConnection());
+            }
+            // Holding the whole minimum idle would wait out the 30 s connection timeout here
+            long startedAt = System.nanoTime();
+            databaseWarmup.warmUp();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            assertTrue(elapsed.compareTo(Duration.ofSeconds(20)) < 0, "Warmup took " + elapsed);
+            assertEquals(pool.getMaximumPoolSize() - 1, pool.getHikariPoolMXBean().getActiveConnections());
+        } finally {
+            for (Connection connection : requests) {
+                connection.close();
+            }
+        }
+        assertEquals(runsBefore + 1, meterRegistry.get("booking.warmup").tag("phase", "startup").timer().count());
+        assertEquals(Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()), pool.getHikariPoolMXBean().getTotalConnections());
+    }
+}
@@ -0,0 +1,152 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.IdempotencyRecord;
+import com.karunavilla.booking_system.model.IdempotentResponse;
+import com.karunavilla.booking_system.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class IdempotencyServiceIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        recordRepository.deleteAllInBatch();
+        idempotencyService.clearCache();
+        executions.set(0);
+    }
+
+    @Test
+    public void retriesReplayTheFirstResponse() {
+        IdempotentResponse first = idempotencyService.execute("test", "key-1", List.of("a"), this::created);
+        IdempotentResponse retry = idempotencyService.execute("test", "key-1", List.of("a"), this::created);
+        assertFalse(first.isReplayed());
+        assertTrue(retry.isReplayed());
+        assertEquals("created 1", retry.getBody());
+
+        // After a restart the stored row answers instead of the in-memory copy
+        idempotencyService.clearCache();
+        assertEquals("created 1", idempotencyService.execute("test", "key-1", List.of("a"), this::created).getBody());
+        assertEquals(1, executions.get());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute("test", "key-1", List.of("b"), this::created));
+    }
+
+    @Test
+    public void failedRequestsReleaseTheKey() {
+        assertThrows(RuntimeException.class, () -> idempotencyService.execute("test", "key-2", "body", () -> {
+            throw new RuntimeException("Room is not available");
+        }));
+        assertEquals("created 1", idempotencyService.execute("test", "key-2", "body", this::created).getBody());
+    }
+
+    @Test
+    public void concurrentDuplicatesShareOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            Future<IdempotentResponse> first = clients.submit(() -> idempotencyService.execute("test", "key-3", "body", () -> {
+                started.countDown();
+                await(release);
+                return created();
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<IdempotentResponse> duplicate = clients.submit(() -> idempotencyService.execute("test", "key-3", "body", this::created));
+            release.countDown();
+
+            assertEquals("created 1", first.get(10, TimeUnit.SECONDS).getBody());
+            assertEquals("created 1", duplicate.get(10, TimeUnit.SECONDS).getBody());
+            assertEquals(1, executions.get());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    public void abandonedClaimsAreTakenOverAfterTheProcessingTimeout() throws Exception {
+        // Left PENDING by instances that died mid-request
+        recordRepository.save(pending("test:key-4", Instant.now().minus(Duration.ofMinutes(1))));
+        recordRepository.save(pending("test:key-5", Instant.now().minus(Duration.ofMinutes(10))));
+
+        assertThrows(IdempotencyConflictException.class,
+                () -> idempotencyService.execute("test", "key-4", "body", this::created));
+        assertEquals("created 1", idempotencyService.execute("test", "key-5", "body", this::created).getBody());
+        assertEquals(IdempotencyRecord.COMPLETED, recordRepository.findById("test:key-5").orElseThrow().getStatus());
+        assertTrue(idempotencyService.execute("test", "key-5", "body", this::created).isReplayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void theActionsWritesCommitOnlyWithItsStoredResponse() {
+        // Another request takes the key over while the action runs: the action's writes must not survive it
+        assertThrows(IdempotencyConflictException.class, () -> idempotencyService.execute("test", "key-6", "body", () -> {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_hash, status, created_at) VALUES ('test:written', 'x', 'PENDING', ?)",
+                    Timestamp.from(Instant.now()));
+            jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ? WHERE idempotency_key = 'test:key-6'",
+                    Timestamp.from(Instant.now().plusSeconds(1)));
+            return created();
+        }));
+        assertFalse(recordRepository.existsById("test:written"));
+        assertFalse(recordRepository.existsById("test:key-6"));
+    }
+
+    // Same request body as the retries below: the JSON string "body"
+    private static IdempotencyRecord pending(String id, Instant createdAt) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest("\"body\"".getBytes(StandardCharsets.UTF_8));
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(id);
+        record.setRequestHash(HexFormat.of().formatHex(digest));
+        record.setStatus(IdempotencyRecord.PENDING);
+        record.setCreatedAt(createdAt);
+        return record;
+    }
+
+    private IdempotentResponse created() {
+        return IdempotentResponse.of(200, "text/plain", "created " + executions.incrementAndGet());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
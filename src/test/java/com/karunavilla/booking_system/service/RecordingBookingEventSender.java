@@ -0,0 +1,48 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.model.BookingEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// In-process sender for tests: keeps what it was given and can be told to fail the next calls
+@Component
+@Primary
+public class RecordingBookingEventSender implements BookingEventSender {
+
+    private final List<BookingEvent> sent = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresToThrow = new AtomicInteger();
+    private volatile Consumer<BookingEvent> duringSend = event -> { };
+
+    @Override
+    public void send(BookingEvent event) {
+        duringSend.accept(event);
+        if (failuresToThrow.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            throw new RuntimeException("Simulated downstream failure");
+        }
+        sent.add(event);
+    }
+
+    public List<BookingEvent> getSent() {
+        return sent;
+    }
+
+    public void failNext(int calls) {
+        failuresToThrow.set(calls);
+    }
+
+    // Runs inside each send, while the dispatcher holds the row's lease
+    public void duringSend(Consumer<BookingEvent> action) {
+        duringSend = action;
+    }
+
+    public void reset() {
+        sent.clear();
+        failuresToThrow.set(0);
+        duringSend = event -> { };
+    }
+}
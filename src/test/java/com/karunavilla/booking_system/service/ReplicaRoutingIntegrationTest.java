@@ -0,0 +1,129 @@
+package com.karunavilla.booking_system.service;
+
+import com.karunavilla.booking_system.Entity.Room;
+import com.karunavilla.booking_system.model.BookingDTO;
+import com.karunavilla.booking_system.model.BookingResponseDTO;
+import com.karunavilla.booking_system.repository.BookingRepository;
+import com.karunavilla.booking_system.repository.GuestRepository;
+import com.karunavilla.booking_system.repository.RoomRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against two separate H2 databases. The replica is seeded with a booking the primary does
+ * not have, so the data a read returns shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "booking.datasource.replica.url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "booking.datasource.replica.read-your-writes-window=PT5S",
+        "booking.datasource.replica.maximum-pool-size=3",
+        "spring.datasource.hikari.connection-timeout=7000"
+})
+@ActiveProfiles("test")
+public class ReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryPool;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaPool;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    public void setup() {
+        bookingRepository.deleteAll();
+        guestRepository.deleteAll();
+        roomRepository.deleteAll();
+
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "password");
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration/common").load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("DELETE FROM payments");
+        replica.update("DELETE FROM bookings");
+        replica.update("DELETE FROM guests");
+        replica.update("DELETE FROM rooms");
+        replica.update("INSERT INTO rooms (id, room_number, room_name, type, price_per_night, status) VALUES (900, 'R900', 'Replica room', 'Standard', 100, 'AVAILABLE')");
+        replica.update("INSERT INTO guests (id, full_name, mobile_number) VALUES (900, 'Replica Guest', '9000000000')");
+        replica.update("INSERT INTO bookings (id, guest_id, room_id, check_in_date, check_out_date, status, total_amount) " +
+                "VALUES (900, 900, 900, TIMESTAMP WITH TIME ZONE '2027-01-01 00:00:00+00', TIMESTAMP WITH TIME ZONE '2027-01-02 00:00:00+00', 'CONFIRMED', 100)");
+    }
+
+    @Test
+    public void readOnlyServiceMethodsUseTheReplicaUntilThisInstanceWrites() {
+        assertEquals(List.of("R900"), roomsOf(bookingService.getAllBookingDetails()));
+
+        Room room = new Room();
+        room.setRoomNumber("101");
+        room.setType("Standard");
+        room.setPricePerNight(BigDecimal.valueOf(100));
+        room.setStatus("AVAILABLE");
+        room.setRoomName("Room 101");
+        roomRepository.save(room);
+
+        BookingDTO dto = new BookingDTO();
+        dto.setFullName("Primary Guest");
+        dto.setMobileNumber("9876543210");
+        dto.setRoomNo("101");
+        dto.setCheckInDate(LocalDate.of(2027, 1, 1));
+        dto.setCheckOutDate(LocalDate.of(2027, 1, 3));
+        dto.setNightlyRate(BigDecimal.valueOf(100));
+        dto.setTotalAmount(BigDecimal.valueOf(200));
+        dto.setBookingSource("Direct");
+        dto.setAdvanceAmount(BigDecimal.ZERO);
+        dto.setPaymentMethod("Cash");
+        bookingService.createBooking(dto);
+
+        // The write went to the primary, and the read right after it is kept there too
+        assertEquals(1, bookingRepository.count());
+        assertEquals(1, replica.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class));
+        assertEquals(List.of("101"), roomsOf(bookingService.getAllBookingDetails()));
+    }
+
+    @Test
+    public void bothPoolsTakeTheSharedHikariSettings() {
+        assertEquals(7000, primaryPool.getConnectionTimeout());
+        assertEquals(7000, replicaPool.getConnectionTimeout());
+        assertEquals(3, replicaPool.getMaximumPoolSize());
+        assertFalse(primaryPool.isReadOnly());
+        assertTrue(replicaPool.isReadOnly());
+    }
+
+    private static List<String> roomsOf(List<BookingResponseDTO> bookings) {
+        return bookings.stream().map(BookingResponseDTO::getRoom).toList();
+    }
+}